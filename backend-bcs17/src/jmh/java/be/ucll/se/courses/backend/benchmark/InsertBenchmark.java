@@ -0,0 +1,163 @@
+package be.ucll.se.courses.backend.benchmark;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Inserting rows through Hibernate with the id strategies before and after
+ * the switch to pooled sequences, with the JDBC batch size the application
+ * uses. With {@code IDENTITY} Hibernate has to execute every INSERT on its own
+ * to read the generated key; with a pooled sequence it knows the ids up front
+ * and sends the INSERTs in batches.
+ * <p>
+ * Runs against an in-memory H2 database by default. To compare with
+ * PostgreSQL, pass its connection to the forked JVM, for example
+ * {@code -Djmh.args="InsertBenchmark -p database=h2,postgres -jvmArgsAppend -Dbenchmark.postgres.url=jdbc:postgresql://localhost/bench"},
+ * with {@code benchmark.postgres.user} and {@code benchmark.postgres.password}
+ * in the same way.
+ * The benchmark creates and drops its own tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(InsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+    static final int ROWS = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @Param({ "h2" })
+    public String database;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        final var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.postgres.user", "sa"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.postgres.password", ""))
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(IdentityCourse.class)
+                .addAnnotatedClass(PooledCourse.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from IdentityCourse").executeUpdate();
+            session.createMutationQuery("delete from PooledCourse").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    public void identity() {
+        insert(IdentityCourse::new);
+    }
+
+    @Benchmark
+    public void pooledSequence() {
+        insert(PooledCourse::new);
+    }
+
+    private void insert(IntFunction<Object> row) {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(row.apply(i));
+            }
+        });
+    }
+
+    private String url() {
+        return switch (database) {
+            case "h2" -> "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1";
+            case "postgres" -> {
+                final var url = System.getProperty("benchmark.postgres.url");
+                if (url == null) {
+                    throw new IllegalStateException("Set benchmark.postgres.url to benchmark PostgreSQL");
+                }
+                yield url;
+            }
+            default -> throw new IllegalArgumentException("Unknown database " + database);
+        };
+    }
+
+    /**
+     * The columns of a course, which is what a seed or import inserts most
+     * of, once per id strategy.
+     */
+    @Entity(name = "IdentityCourse")
+    @Table(name = "identity_course")
+    public static class IdentityCourse {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private Instant createdAt = Instant.now();
+        private Instant updatedAt = createdAt;
+        private String name;
+        private String description;
+        private int phase;
+        private int credits;
+
+        protected IdentityCourse() {
+        }
+
+        IdentityCourse(int i) {
+            this.name = "Course " + i;
+            this.description = "Learn the theory and practice of subject " + i + ".";
+            this.phase = 1 + i % 3;
+            this.credits = 3 + i % 4;
+        }
+    }
+
+    @Entity(name = "PooledCourse")
+    @Table(name = "pooled_course")
+    public static class PooledCourse {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_course_seq")
+        @SequenceGenerator(name = "pooled_course_seq", sequenceName = "pooled_course_seq", allocationSize = BATCH_SIZE)
+        private Long id;
+        private Instant createdAt = Instant.now();
+        private Instant updatedAt = createdAt;
+        private String name;
+        private String description;
+        private int phase;
+        private int credits;
+
+        protected PooledCourse() {
+        }
+
+        PooledCourse(int i) {
+            this.name = "Course " + i;
+            this.description = "Learn the theory and practice of subject " + i + ".";
+            this.phase = 1 + i % 3;
+            this.credits = 3 + i % 4;
+        }
+    }
+}
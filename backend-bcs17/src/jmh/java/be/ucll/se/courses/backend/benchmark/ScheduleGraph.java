@@ -0,0 +1,73 @@
+package be.ucll.se.courses.backend.benchmark;
+
+import be.ucll.se.courses.backend.model.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the entity graph a page of schedules is serialized from, without a
+ * database. The shape follows the seed data: lecturers teach two courses,
+ * and students come from a shared pool, so the same student appears in many
+ * schedules. The graph only depends on its parameters.
+ */
+final class ScheduleGraph {
+    private static final int COURSES = 40;
+    private static final int LECTURERS = 50;
+    private static final int STUDENT_POOL = 2000;
+    private static final Instant START = Instant.parse("2025-02-10T08:30:00Z");
+
+    private ScheduleGraph() {
+    }
+
+    static List<Schedule> schedules(int scheduleCount, int studentsPerSchedule) {
+        final var courses = new ArrayList<Course>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            final var course = new Course("Course " + i,
+                    "Learn the theory and practice of subject " + i + " in lectures and lab sessions.",
+                    1 + i % 3, 3 + i % 4);
+            course.setId((long) i + 1);
+            courses.add(course);
+        }
+
+        final var lecturers = new ArrayList<Lecturer>(LECTURERS);
+        for (int i = 0; i < LECTURERS; i++) {
+            final var lecturer = new Lecturer("Expertise " + i, user(i + 1, "lecturer" + i, Role.LECTURER));
+            lecturer.setId((long) i + 1);
+            lecturer.getCourses().add(courses.get(i % COURSES));
+            lecturer.getCourses().add(courses.get((i + 1) % COURSES));
+            lecturers.add(lecturer);
+        }
+
+        final int poolSize = Math.max(STUDENT_POOL, studentsPerSchedule);
+        final var students = new ArrayList<Student>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            final var student = new Student("r%07d".formatted(i), user(LECTURERS + i + 1, "student" + i, Role.STUDENT));
+            student.setId((long) i + 1);
+            students.add(student);
+        }
+
+        final var schedules = new ArrayList<Schedule>(scheduleCount);
+        for (int i = 0; i < scheduleCount; i++) {
+            final var start = START.plus(i, ChronoUnit.HOURS);
+            final var lecturer = lecturers.get(i % LECTURERS);
+            final var schedule = new Schedule(start, start.plus(2, ChronoUnit.HOURS),
+                    lecturer.getCourses().get(i % 2), lecturer);
+            schedule.setId((long) i + 1);
+            for (int j = 0; j < studentsPerSchedule; j++) {
+                schedule.addStudent(students.get((i * 7 + j) % poolSize));
+            }
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+
+    private static User user(long id, String username, Role role) {
+        final var user = new User(username, "First" + id, "Last" + id, username + "@ucll.be",
+                "{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6tJE8y1B3Hvj6l8Vh7g6wV2", role);
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,48 @@
+package be.ucll.se.courses.backend.benchmark;
+
+import be.ucll.se.courses.backend.model.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Records producing the same JSON as the {@link Schedule} entity graph, to
+ * compare serializing entities with serializing DTOs.
+ */
+record ScheduleView(Long id, Instant start, Instant end, CourseView course, LecturerView lecturer,
+        List<StudentView> students) {
+
+    static ScheduleView of(Schedule schedule) {
+        return new ScheduleView(schedule.getId(), schedule.getStart(), schedule.getEnd(),
+                CourseView.of(schedule.getCourse()), LecturerView.of(schedule.getLecturer()),
+                schedule.getStudents().stream().map(StudentView::of).toList());
+    }
+
+    record CourseView(Long id, String name, String description, int phase, int credits) {
+        static CourseView of(Course course) {
+            return new CourseView(course.getId(), course.getName(), course.getDescription(), course.getPhase(),
+                    course.getCredits());
+        }
+    }
+
+    record LecturerView(Long id, String expertise, UserView user, List<CourseView> courses) {
+        static LecturerView of(Lecturer lecturer) {
+            return new LecturerView(lecturer.getId(), lecturer.getExpertise(), UserView.of(lecturer.getUser()),
+                    lecturer.getCourses().stream().map(CourseView::of).toList());
+        }
+    }
+
+    record StudentView(Long id, @JsonProperty("studentnumber") String studentNumber, UserView user) {
+        static StudentView of(Student student) {
+            return new StudentView(student.getId(), student.getStudentNumber(), UserView.of(student.getUser()));
+        }
+    }
+
+    record UserView(Long id, String username, String firstName, String lastName, String email, Role role) {
+        static UserView of(User user) {
+            return new UserView(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(),
+                    user.getEmail(), user.getRole());
+        }
+    }
+}
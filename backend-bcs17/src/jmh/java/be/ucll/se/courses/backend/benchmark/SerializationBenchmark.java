@@ -0,0 +1,125 @@
+package be.ucll.se.courses.backend.benchmark;
+
+import be.ucll.se.courses.backend.model.Schedule;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a {@code GET /schedules} response: the entity graph as
+ * the controllers return it, against DTO records, each with the mapper
+ * Spring Boot configures and with the Blackbird module, which replaces
+ * reflective getter calls with generated lambdas.
+ * <p>
+ * The JSON is written to a stream that discards it, so the numbers do not
+ * include growing a response buffer. Run with {@code -prof gc} (the default
+ * of the {@code jmh} profile) for {@code gc.alloc.rate.norm}, the bytes
+ * allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final TypeReference<List<Schedule>> SCHEDULES = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ScheduleView>> SCHEDULE_VIEWS = new TypeReference<>() {
+    };
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int schedules;
+
+    @Param({ "0", "30", "300" })
+    public int studentsPerSchedule;
+
+    private List<Schedule> entities;
+    private List<ScheduleView> views;
+    private ObjectWriter entityWriter;
+    private ObjectWriter entityBlackbirdWriter;
+    private ObjectWriter viewWriter;
+    private ObjectWriter viewBlackbirdWriter;
+    private final OutputStream discard = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        entities = ScheduleGraph.schedules(schedules, studentsPerSchedule);
+        views = entities.stream().map(ScheduleView::of).toList();
+
+        final var defaults = mapper(false);
+        final var blackbird = mapper(true);
+        entityWriter = defaults.writerFor(SCHEDULES);
+        entityBlackbirdWriter = blackbird.writerFor(SCHEDULES);
+        viewWriter = defaults.writerFor(SCHEDULE_VIEWS);
+        viewBlackbirdWriter = blackbird.writerFor(SCHEDULE_VIEWS);
+
+        // The comparison is only fair if both produce the same document
+        final var sample = entities.subList(0, Math.min(10, entities.size()));
+        final var sampleViews = views.subList(0, sample.size());
+        if (!defaults.readTree(entityWriter.writeValueAsBytes(sample))
+                .equals(defaults.readTree(viewWriter.writeValueAsBytes(sampleViews)))) {
+            throw new IllegalStateException("ScheduleView does not serialize like the Schedule entity");
+        }
+    }
+
+    @Benchmark
+    public void entities() throws IOException {
+        entityWriter.writeValue(discard, entities);
+    }
+
+    @Benchmark
+    public void entitiesBlackbird() throws IOException {
+        entityBlackbirdWriter.writeValue(discard, entities);
+    }
+
+    /**
+     * Includes mapping the entities to records, which a controller returning
+     * DTOs would have to do as well.
+     */
+    @Benchmark
+    public void dtos() throws IOException {
+        viewWriter.writeValue(discard, entities.stream().map(ScheduleView::of).toList());
+    }
+
+    @Benchmark
+    public void dtosBlackbird() throws IOException {
+        viewBlackbirdWriter.writeValue(discard, entities.stream().map(ScheduleView::of).toList());
+    }
+
+    /**
+     * Only the serialization of records that already exist, the lower bound
+     * for DTOs.
+     */
+    @Benchmark
+    public void dtosPremapped() throws IOException {
+        viewWriter.writeValue(discard, views);
+    }
+
+    /**
+     * The mapper as Spring Boot configures it for the application, optionally
+     * with Blackbird.
+     */
+    private static ObjectMapper mapper(boolean blackbird) {
+        final var builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // The benchmarks keep writing to the same stream
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+}
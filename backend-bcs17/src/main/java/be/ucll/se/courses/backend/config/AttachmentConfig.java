@@ -0,0 +1,15 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.service.AttachmentStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AttachmentProperties.class)
+public class AttachmentConfig {
+    @Bean
+    public AttachmentStore attachmentStore(AttachmentProperties properties) {
+        return new AttachmentStore(properties.directory(), properties.maxSize().toBytes());
+    }
+}
@@ -0,0 +1,12 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "attachments")
+public record AttachmentProperties(@DefaultValue("data/attachments") Path directory,
+        @DefaultValue("100MB") DataSize maxSize) {
+}
@@ -0,0 +1,51 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt work factor for the current hardware. Every step of the
+ * work factor doubles the hashing time, so timing one cheap hash is enough to
+ * estimate all others.
+ */
+final class BCryptCostCalibrator {
+    static final int MAX_COST = 16;
+    private static final int PROBE_COST = 10;
+    private static final int PROBE_RUNS = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * The highest cost whose hash is estimated to take no longer than
+     * {@code target}, but never less than {@code minCost}: on slow hardware
+     * hashing takes longer rather than getting weaker.
+     */
+    static int calibrate(Duration target, int minCost) {
+        final var salt = BCrypt.gensalt(PROBE_COST);
+        // Warm up the JIT before measuring
+        BCrypt.hashpw("calibration", salt);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            final long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return costFor(fastest, target.toNanos(), minCost);
+    }
+
+    static int costFor(long probeNanos, long targetNanos, int minCost) {
+        int cost = PROBE_COST;
+        double estimate = probeNanos;
+        while (cost < MAX_COST && estimate * 2 <= targetNanos) {
+            cost++;
+            estimate *= 2;
+        }
+        while (cost > minCost && estimate > targetNanos) {
+            cost--;
+            estimate /= 2;
+        }
+        return Math.max(cost, minCost);
+    }
+}
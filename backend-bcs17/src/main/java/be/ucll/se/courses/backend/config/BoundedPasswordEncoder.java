@@ -0,0 +1,116 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a slow password encoder, such as BCrypt, on a fixed number of threads
+ * with a bounded queue in front of them.
+ * <p>
+ * Hashing is deliberately expensive, so a burst of logins would otherwise
+ * take every CPU and slow down all other requests. With this encoder at most
+ * {@code threads} hashes run at the same time; callers wait for their turn,
+ * and when the queue is full they are turned away at once with a
+ * {@link ServiceBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+    private final PasswordEncoder delegate;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        final var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    final var thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes being computed")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time password hashes waited for a thread")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration")
+                .description("Time spent computing password hashes")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Password hashes turned away because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, no need to queue for that
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> hash) {
+        final long queuedAt = System.nanoTime();
+        final Callable<T> task = () -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return timer.recordCallable(hash);
+        };
+        try {
+            return executor.submit(task).get();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceBusyException("Too many sign-ins at the moment, please try again shortly", retryAfter);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package be.ucll.se.courses.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Remembers tokens that the delegate already verified, so a token the SPA
+ * sends with every request is only parsed and checked once.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, which covers the signature, so
+ * a tampered token never matches a cached one. A cached token expires from
+ * the cache at its own expiry time, and tokens without one are never cached.
+ * When the cache is full, Caffeine evicts the tokens least likely to be used
+ * again.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final Cache<ByteBuffer, Jwt> verified;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new ExpiresWithToken(clock))
+                .ticker(() -> ChronoUnit.NANOS.between(Instant.EPOCH, clock.instant()))
+                // Evict on the calling thread; the work per call is small
+                .executor(Runnable::run)
+                .build();
+        this.hits = Counter.builder("security.jwt.cache.requests")
+                .description("Bearer tokens looked up in the verified token cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("security.jwt.cache.requests")
+                .description("Bearer tokens looked up in the verified token cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", verified, Cache::estimatedSize)
+                .description("Verified bearer tokens in the cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final var key = digest(token);
+        final var cached = verified.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        final var jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && clock.instant().isBefore(jwt.getExpiresAt())) {
+            verified.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    /**
+     * Expires every cached token when the token itself expires.
+     */
+    private record ExpiresWithToken(Clock clock) implements Expiry<ByteBuffer, Jwt> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+            return Duration.between(clock.instant(), jwt.getExpiresAt()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
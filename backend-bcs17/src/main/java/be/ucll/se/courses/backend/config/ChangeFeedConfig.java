@@ -0,0 +1,23 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import be.ucll.se.courses.backend.service.ChangeFeed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+    @Bean
+    public ChangeFeed changeFeed(ScheduleRepository scheduleRepository, ChangeFeedProperties properties,
+            MeterRegistry meterRegistry) {
+        final var changeFeed = new ChangeFeed(scheduleRepository, properties);
+        Gauge.builder("events.subscribers", changeFeed, ChangeFeed::getSubscribers)
+                .description("Clients connected to the change feed")
+                .register(meterRegistry);
+        return changeFeed;
+    }
+}
@@ -0,0 +1,20 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param heartbeat      interval of the comments that keep idle connections
+ *                       from being closed by proxies
+ * @param reconnectAfter how long a stream stays open before the client is
+ *                       made to reconnect, which also re-checks its token
+ * @param bufferSize     events kept for a client that is slow to read; when
+ *                       it overflows the oldest events are dropped
+ */
+@ConfigurationProperties(prefix = "events")
+public record ChangeFeedProperties(@DefaultValue("20s") Duration heartbeat,
+        @DefaultValue("30m") Duration reconnectAfter,
+        @DefaultValue("256") int bufferSize) {
+}
@@ -0,0 +1,93 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out connections to at most a fixed number of callers at a time, in
+ * arrival order.
+ * <p>
+ * On virtual threads there is no worker pool limiting how many requests run
+ * at once, so thousands of them can queue up inside the connection pool. This
+ * keeps that queue fair and gives up after a short timeout, which the
+ * exception handlers turn into a 503, instead of letting requests wait for
+ * the pool's much longer connection timeout.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimitedDataSource(DataSource dataSource, int maxConcurrent, Duration acquireTimeout) {
+        super(dataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Callers waiting for a connection, for monitoring.
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        final var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, arguments) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                    try {
+                        return method.invoke(connection, arguments);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a hash to be upgraded when its cost is lower
+ * than the configured one. A hash with a higher cost is kept: rehashing it
+ * would weaken it, for instance after the cost was calibrated on slower
+ * hardware.
+ */
+class CostAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final int cost;
+
+    CostAwareBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        final var matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < cost;
+    }
+}
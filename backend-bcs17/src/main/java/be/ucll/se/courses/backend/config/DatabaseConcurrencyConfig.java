@@ -0,0 +1,64 @@
+package be.ucll.se.courses.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+@EnableConfigurationProperties(DatabaseConcurrencyProperties.class)
+public class DatabaseConcurrencyConfig {
+    /**
+     * Puts the {@link ConcurrencyLimitedDataSource} in front of the pool. By
+     * default it lets as many callers through as the pool has connections.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "database.concurrency", name = "limited", havingValue = "true")
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            ObjectProvider<DatabaseConcurrencyProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                final var limits = properties.getObject();
+                int maxConcurrent = limits.maxConcurrent();
+                if (maxConcurrent <= 0) {
+                    maxConcurrent = poolSize(dataSource);
+                }
+                if (maxConcurrent <= 0) {
+                    return bean;
+                }
+                final var limited = new ConcurrencyLimitedDataSource(dataSource, maxConcurrent,
+                        limits.acquireTimeout());
+                Gauge.builder("database.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getWaiting)
+                        .description("Requests waiting for their turn to use the database")
+                        .register(meterRegistry.getObject());
+                return limited;
+            }
+        };
+    }
+
+    /**
+     * The size of the connection pool, also when another wrapper, such as
+     * the {@link QueryStatsDataSource}, is already in front of it.
+     */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : 0;
+        } catch (SQLException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limit on the number of requests using the database at the same time.
+ *
+ * @param limited        whether connections are handed out through the limiter
+ * @param maxConcurrent  connections in use at the same time; 0 means the
+ *                       size of the connection pool
+ * @param acquireTimeout how long a request waits for its turn before it is
+ *                       answered with 503
+ */
+@ConfigurationProperties(prefix = "database.concurrency")
+public record DatabaseConcurrencyProperties(@DefaultValue("false") boolean limited,
+        @DefaultValue("0") int maxConcurrent,
+        @DefaultValue("2s") Duration acquireTimeout) {
+}
@@ -0,0 +1,32 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.repository.DatasetGenerator;
+import be.ucll.se.courses.backend.repository.LecturerScheduleIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetConfig {
+    /**
+     * Only created when a synthetic dataset is asked for; otherwise the
+     * database only contains the fixed seed.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "dataset", name = "enabled", havingValue = "true")
+    public DatasetGenerator datasetGenerator(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            EntityManagerFactory entityManagerFactory,
+            LecturerScheduleIndex lecturerScheduleIndex,
+            DatasetProperties properties) {
+        return new DatasetGenerator(jdbcTemplate, transactionTemplate, passwordEncoder, entityManagerFactory,
+                lecturerScheduleIndex, properties);
+    }
+}
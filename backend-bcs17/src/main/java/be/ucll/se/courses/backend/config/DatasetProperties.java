@@ -0,0 +1,29 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * Size and shape of the synthetic dataset that is generated on top of the
+ * fixed seed when {@code enabled}. The same {@code seed} always produces the
+ * same rows, so performance runs can be compared with each other.
+ * <p>
+ * Every generated user logs in with {@code password}. Its hash is computed
+ * once per run, or taken from {@code password-hash} to skip hashing entirely.
+ */
+@ConfigurationProperties(prefix = "dataset")
+public record DatasetProperties(@DefaultValue("false") boolean enabled,
+        @DefaultValue("42") long seed,
+        @DefaultValue("50000") int students,
+        @DefaultValue("2000") int lecturers,
+        @DefaultValue("400") int courses,
+        @DefaultValue("20000") int schedules,
+        @DefaultValue("200000") int assignments,
+        @DefaultValue("30") int studentsPerSchedule,
+        @DefaultValue("2025-09-22") LocalDate firstDay,
+        @DefaultValue("password123") String password,
+        String passwordHash,
+        @DefaultValue("1000") int batchSize) {
+}
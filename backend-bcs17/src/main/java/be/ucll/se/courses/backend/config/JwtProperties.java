@@ -7,8 +7,15 @@ import java.time.Duration;
 
 @ConfigurationProperties(prefix = "jwt")
 public record JwtProperties(String secretKey,
-        @DefaultValue Token token) {
+        @DefaultValue Token token,
+        @DefaultValue Cache cache) {
     public record Token(@DefaultValue("courses_app") String issuer,
             @DefaultValue("8h") Duration lifetime) {
     }
+
+    /**
+     * Bounds the cache of verified tokens; 0 disables it.
+     */
+    public record Cache(@DefaultValue("10000") int maxEntries) {
+    }
 }
@@ -0,0 +1,17 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * The credential Prometheus uses to scrape {@code /actuator/prometheus} over
+ * HTTP Basic. Without a password, only admins can read the metrics.
+ *
+ * @param username the scraper's username
+ * @param password the scraper's password, prefixed with its encoding, e.g.
+ *                 a {@code {bcrypt}} hash or {@code {noop}} and the password
+ */
+@ConfigurationProperties(prefix = "metrics.scraper")
+public record MetricsScraperProperties(@DefaultValue("prometheus") String username,
+        String password) {
+}
@@ -0,0 +1,32 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cost and capacity of password hashing.
+ *
+ * @param threads        the number of hashes computed at the same time; 0
+ *                       means half of the available processors
+ * @param queueCapacity  how many requests may wait for a thread before new
+ *                       ones are turned away
+ * @param retryAfter     what turned away clients are told to wait
+ * @param bcryptCost     the BCrypt work factor; 0 calibrates it at startup
+ *                       so that one hash takes about {@code targetDuration}
+ * @param minCost        the lowest BCrypt work factor allowed, whether
+ *                       configured or calibrated
+ * @param targetDuration how long one hash should take on this machine
+ */
+@ConfigurationProperties(prefix = "password-hashing")
+public record PasswordHashingProperties(@DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("2s") Duration retryAfter,
+        @DefaultValue("0") int bcryptCost,
+        @DefaultValue("12") int minCost,
+        @DefaultValue("250ms") Duration targetDuration) {
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
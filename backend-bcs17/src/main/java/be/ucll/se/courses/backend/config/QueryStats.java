@@ -0,0 +1,240 @@
+package be.ucll.se.courses.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Statement counts and JDBC time of a sample of requests, per handler
+ * method, over a rolling window.
+ * <p>
+ * A sampled request is recorded on its own thread from
+ * {@link #start()} until {@link #finish}; {@link QueryStatsDataSource} adds
+ * the statements executed meanwhile. Statements that differ only in the
+ * length of an {@code IN} list count as the same fingerprint, so a lazy
+ * association loaded row by row or in batches shows up as one fingerprint
+ * executed many times.
+ */
+public class QueryStats {
+    private static final Logger log = LoggerFactory.getLogger(QueryStats.class);
+
+    /**
+     * Buckets per window; the oldest one is dropped as a whole.
+     */
+    private static final int BUCKETS = 10;
+    private static final int MAX_FINGERPRINTS = 50;
+    private static final int TOP_REPEATED = 3;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final QueryStatsProperties properties;
+    private final long bucketNanos;
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private final Map<String, Window> handlers = new ConcurrentHashMap<>();
+
+    public QueryStats(QueryStatsProperties properties) {
+        this.properties = properties;
+        this.bucketNanos = Math.max(1, properties.window().toNanos() / BUCKETS);
+    }
+
+    /**
+     * Starts recording the statements of the current thread, for a sample of
+     * the calls.
+     */
+    public void start() {
+        if (ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            current.set(new Recording());
+        }
+    }
+
+    /**
+     * Stops recording without reporting, for a request that continues on
+     * another thread.
+     */
+    public void discard() {
+        current.remove();
+    }
+
+    /**
+     * Stops recording and adds the statements to those of the handler.
+     */
+    public void finish(String handler, String request) {
+        final var recording = current.get();
+        if (recording == null) {
+            return;
+        }
+        current.remove();
+        final var repeated = recording.repeated();
+        handlers.computeIfAbsent(handler, name -> new Window()).add(recording, repeated);
+
+        if (recording.isSlow()) {
+            final var mostRepeated = repeated.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(TOP_REPEATED)
+                    .map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .toList();
+            log.warn("{} ({}) executed {} statements in {} ms; most repeated: {}", request, handler,
+                    recording.statements, TimeUnit.NANOSECONDS.toMillis(recording.jdbcNanos), mostRepeated);
+        }
+    }
+
+    Recording current() {
+        return current.get();
+    }
+
+    /**
+     * The aggregates of every handler with a sampled request in the window,
+     * the handler spending the most time in JDBC first.
+     */
+    public Report report() {
+        final long now = System.nanoTime();
+        final var stats = new ArrayList<HandlerStats>();
+        handlers.forEach((handler, window) -> {
+            final var handlerStats = window.stats(handler, now);
+            if (handlerStats.requests() > 0) {
+                stats.add(handlerStats);
+            }
+        });
+        stats.sort(Comparator.comparingDouble(HandlerStats::totalJdbcMillis).reversed());
+        return new Report(properties.sampleRate(), properties.window(), stats);
+    }
+
+    static String fingerprint(String sql) {
+        return IN_LIST.matcher(WHITESPACE.matcher(sql.strip()).replaceAll(" ")).replaceAll("?");
+    }
+
+    public record Report(double sampleRate, Duration window, List<HandlerStats> handlers) {
+    }
+
+    public record HandlerStats(String handler, long requests, double meanStatements, int maxStatements,
+            double meanJdbcMillis, double maxJdbcMillis, double totalJdbcMillis, long slowRequests,
+            List<RepeatedStatement> topRepeated) {
+    }
+
+    /**
+     * A fingerprint executed more than once within a request, with the
+     * executions beyond the first summed over the window.
+     */
+    public record RepeatedStatement(String sql, long repeats) {
+    }
+
+    /**
+     * The statements of one request. Only touched by the request's thread.
+     */
+    final class Recording {
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int statements;
+        private long jdbcNanos;
+
+        void executed(String sql, long nanos) {
+            statements++;
+            jdbcNanos += nanos;
+            executions.merge(sql, 1, Integer::sum);
+        }
+
+        /**
+         * The fingerprints executed more than once. Fingerprinting is done
+         * once per distinct statement, when the request is done.
+         */
+        private Map<String, Integer> repeated() {
+            final var byFingerprint = new HashMap<String, Integer>();
+            executions.forEach((sql, count) -> byFingerprint.merge(fingerprint(sql), count, Integer::sum));
+            byFingerprint.values().removeIf(count -> count < 2);
+            return byFingerprint;
+        }
+
+        private boolean isSlow() {
+            return statements > properties.slowStatements()
+                    || jdbcNanos > properties.slowJdbcTime().toNanos();
+        }
+    }
+
+    /**
+     * The sampled requests of one handler, in buckets of a tenth of the
+     * window.
+     */
+    private final class Window {
+        private final Bucket[] buckets = new Bucket[BUCKETS];
+
+        synchronized void add(Recording recording, Map<String, Integer> repeated) {
+            final long index = Math.floorDiv(System.nanoTime(), bucketNanos);
+            final int slot = Math.floorMod(index, BUCKETS);
+            var bucket = buckets[slot];
+            if (bucket == null || bucket.index != index) {
+                bucket = new Bucket(index);
+                buckets[slot] = bucket;
+            }
+            bucket.requests++;
+            bucket.statements += recording.statements;
+            bucket.maxStatements = Math.max(bucket.maxStatements, recording.statements);
+            bucket.jdbcNanos += recording.jdbcNanos;
+            bucket.maxJdbcNanos = Math.max(bucket.maxJdbcNanos, recording.jdbcNanos);
+            if (recording.isSlow()) {
+                bucket.slowRequests++;
+            }
+            for (final var entry : repeated.entrySet()) {
+                if (bucket.repeats.size() < MAX_FINGERPRINTS || bucket.repeats.containsKey(entry.getKey())) {
+                    bucket.repeats.merge(entry.getKey(), (long) entry.getValue() - 1, Long::sum);
+                }
+            }
+        }
+
+        synchronized HandlerStats stats(String handler, long now) {
+            final long oldest = Math.floorDiv(now, bucketNanos) - BUCKETS + 1;
+            long requests = 0;
+            long statements = 0;
+            int maxStatements = 0;
+            long jdbcNanos = 0;
+            long maxJdbcNanos = 0;
+            long slowRequests = 0;
+            final var repeats = new HashMap<String, Long>();
+            for (final var bucket : buckets) {
+                if (bucket == null || bucket.index < oldest) {
+                    continue;
+                }
+                requests += bucket.requests;
+                statements += bucket.statements;
+                maxStatements = Math.max(maxStatements, bucket.maxStatements);
+                jdbcNanos += bucket.jdbcNanos;
+                maxJdbcNanos = Math.max(maxJdbcNanos, bucket.maxJdbcNanos);
+                slowRequests += bucket.slowRequests;
+                bucket.repeats.forEach((sql, count) -> repeats.merge(sql, count, Long::sum));
+            }
+            final double nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+            return new HandlerStats(handler, requests,
+                    requests == 0 ? 0 : (double) statements / requests, maxStatements,
+                    requests == 0 ? 0 : jdbcNanos / nanosPerMilli / requests, maxJdbcNanos / nanosPerMilli,
+                    jdbcNanos / nanosPerMilli, slowRequests,
+                    repeats.entrySet().stream()
+                            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                            .limit(TOP_REPEATED)
+                            .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()))
+                            .toList());
+        }
+    }
+
+    private static final class Bucket {
+        private final long index;
+        private final Map<String, Long> repeats = new HashMap<>();
+        private long requests;
+        private long statements;
+        private int maxStatements;
+        private long jdbcNanos;
+        private long maxJdbcNanos;
+        private long slowRequests;
+
+        Bucket(long index) {
+            this.index = index;
+        }
+    }
+}
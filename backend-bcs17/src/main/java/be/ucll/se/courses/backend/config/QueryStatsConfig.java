@@ -0,0 +1,55 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Samples the statements of requests to find the handlers that cause bursts
+ * of lazy loads or spend long in the database; see {@link QueryStats}.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryStatsProperties.class)
+@ConditionalOnProperty(prefix = "query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig implements WebMvcConfigurer {
+    private final QueryStats queryStats;
+
+    public QueryStatsConfig(QueryStats queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    @Bean
+    public static QueryStats queryStats(QueryStatsProperties properties) {
+        return new QueryStats(properties);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor(ObjectProvider<QueryStats> queryStats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof QueryStatsDataSource) {
+                    return bean;
+                }
+                return new QueryStatsDataSource(dataSource, queryStats.getObject());
+            }
+        };
+    }
+
+    @Bean
+    public QueryStatsEndpoint queryStatsEndpoint() {
+        return new QueryStatsEndpoint(queryStats);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryStatsInterceptor(queryStats));
+    }
+}
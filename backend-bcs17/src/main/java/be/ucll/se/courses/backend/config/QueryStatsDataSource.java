@@ -0,0 +1,89 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times the statements executed on connections handed out while a request
+ * is being recorded by {@link QueryStats}. Other connections are returned
+ * as they are, so requests that are not sampled pay for one thread-local
+ * lookup per connection and nothing per statement.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource {
+    private final QueryStats queryStats;
+
+    public QueryStatsDataSource(DataSource dataSource, QueryStats queryStats) {
+        super(dataSource);
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    private Connection recording(Connection connection) {
+        if (queryStats.current() == null) {
+            return connection;
+        }
+        return proxy(Connection.class, (proxy, method, arguments) -> {
+            final var result = invoke(connection, method, arguments);
+            return switch (result) {
+                case CallableStatement statement -> timed(CallableStatement.class, statement, (String) arguments[0]);
+                case PreparedStatement statement -> timed(PreparedStatement.class, statement, (String) arguments[0]);
+                case Statement statement -> timed(Statement.class, statement, null);
+                case null, default -> result;
+            };
+        });
+    }
+
+    /**
+     * A statement that records every execution, under the SQL it was
+     * prepared with or, for plain statements, the SQL it is given.
+     */
+    private <T extends Statement> T timed(Class<T> type, T statement, String preparedSql) {
+        return proxy(type, (proxy, method, arguments) -> {
+            final var recording = queryStats.current();
+            if (recording == null || !method.getName().startsWith("execute")) {
+                return invoke(statement, method, arguments);
+            }
+            final var sql = preparedSql != null ? preparedSql
+                    : arguments != null && arguments.length > 0 && arguments[0] instanceof String given ? given
+                    : "(batch)";
+            final long start = System.nanoTime();
+            try {
+                return invoke(statement, method, arguments);
+            } finally {
+                recording.executed(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] arguments) throws Throwable {
+        try {
+            return method.invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/querystats}: statements and JDBC time per handler method
+ * over the last {@code query-stats.window}, from a sample of the requests.
+ */
+@Endpoint(id = "querystats")
+public class QueryStatsEndpoint {
+    private final QueryStats queryStats;
+
+    public QueryStatsEndpoint(QueryStats queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    @ReadOperation
+    public QueryStats.Report report() {
+        return queryStats.report();
+    }
+}
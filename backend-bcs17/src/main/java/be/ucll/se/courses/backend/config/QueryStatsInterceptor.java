@@ -0,0 +1,44 @@
+package be.ucll.se.courses.backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records a sample of the requests handled by controller methods in
+ * {@link QueryStats}, under names like {@code ScheduleController.getSchedules}.
+ * The response is written before {@link #afterCompletion}, so statements run
+ * while serializing lazy associations are included.
+ */
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+    private final QueryStats queryStats;
+
+    public QueryStatsInterceptor(QueryStats queryStats) {
+        this.queryStats = queryStats;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            queryStats.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // Streams go on without this thread; only their setup would be recorded
+        queryStats.discard();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception exception) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            queryStats.finish(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(),
+                    request.getMethod() + " " + request.getRequestURI());
+        }
+    }
+}
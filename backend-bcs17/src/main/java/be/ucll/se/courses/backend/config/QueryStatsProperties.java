@@ -0,0 +1,27 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sampling of the statements requests execute, reported under
+ * {@code /actuator/querystats}.
+ *
+ * @param enabled         whether requests are sampled at all
+ * @param sampleRate      share of requests whose statements are recorded,
+ *                        between 0 and 1
+ * @param window          how far back the reported aggregates go
+ * @param slowStatements  a sampled request executing more statements than
+ *                        this is logged
+ * @param slowJdbcTime    a sampled request spending longer than this in JDBC
+ *                        is logged
+ */
+@ConfigurationProperties(prefix = "query-stats")
+public record QueryStatsProperties(@DefaultValue("true") boolean enabled,
+        @DefaultValue("0.05") double sampleRate,
+        @DefaultValue("5m") Duration window,
+        @DefaultValue("50") int slowStatements,
+        @DefaultValue("500ms") Duration slowJdbcTime) {
+}
@@ -0,0 +1,63 @@
+package be.ucll.se.courses.backend.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@Configuration
+public class SecondLevelCacheConfig {
+    /**
+     * Gives the second-level cache a cache manager of its own, which
+     * Hibernate closes with the session factory. The provider's default one
+     * is shared by the whole JVM, so application contexts with different
+     * databases, like those of the tests, would read each other's entities.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager() {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER,
+                new CaffeineCachingProvider().getCacheManager());
+    }
+
+    /**
+     * Publishes the hit ratio of every second-level cache region as
+     * {@code hibernate.cache.region.hit.ratio}, tagged with the region. Only
+     * when Hibernate collects statistics, which costs on every session.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        final var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            final var regions = new LinkedHashSet<>(List.of(statistics.getSecondLevelCacheRegionNames()));
+            regions.add(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+            for (final var region : regions) {
+                Gauge.builder("hibernate.cache.region.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .description("Share of second-level cache lookups that were hits")
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        final CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        final long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) regionStatistics.getHitCount() / lookups;
+    }
+}
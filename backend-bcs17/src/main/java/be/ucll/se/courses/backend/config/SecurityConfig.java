@@ -1,10 +1,12 @@
 package be.ucll.se.courses.backend.config;
 
+import be.ucll.se.courses.backend.controller.ScheduleController;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.OctetSequenceKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,18 +15,26 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -35,12 +45,15 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.boot.autoconfigure.security.servlet.PathRequest.toH2Console;
 
 @Configuration
-@EnableConfigurationProperties({ CorsProperties.class, JwtProperties.class, H2ConsoleProperties.class })
+@EnableConfigurationProperties({ CorsProperties.class, JwtProperties.class, PasswordHashingProperties.class,
+        UserDetailsCacheProperties.class, MetricsScraperProperties.class, H2ConsoleProperties.class })
 @EnableMethodSecurity
 public class SecurityConfig {
     private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
@@ -61,25 +74,62 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Prometheus has no user to log in with, so it scrapes the metrics with
+     * HTTP Basic and a credential of its own
+     */
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(prefix = "metrics.scraper", name = "password")
+    public SecurityFilterChain metricsScraperSecurityFilterChain(HttpSecurity http,
+            MetricsScraperProperties metricsScraperProperties) throws Exception {
+        final var scraper = User.withUsername(metricsScraperProperties.username())
+                .password(metricsScraperProperties.password())
+                .roles("METRICS")
+                .build();
+        final var authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(new InMemoryUserDetailsManager(scraper));
+        authenticationProvider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return http
+                .securityMatcher("/actuator/prometheus")
+                .authorizeHttpRequests(
+                        authorizeRequests -> authorizeRequests.anyRequest().hasRole("METRICS"))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(authenticationProvider))
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
+
     @Bean
     @Order(1)
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
-            CorsProperties corsProperties) throws Exception {
+            CorsProperties corsProperties, Environment environment) throws Exception {
         return http
-                .authorizeHttpRequests(
-                        authorizeRequests -> authorizeRequests
-                                // Allow all access to health check
-                                .requestMatchers("/status").permitAll()
-                                // Allow all access to error endpoints
-                                .requestMatchers("/error/**").permitAll()
-                                // Allow all to login and signup
-                                .requestMatchers("/users/login", "/users/signup").permitAll()
-                                // Allow OpenAPI access
-                                .requestMatchers("/v3/api-docs/**").permitAll()
-                                // Allow Swagger UI
-                                .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
-                                .requestMatchers("/test-utils/reset-database").permitAll()
-                                .anyRequest().authenticated())
+                .authorizeHttpRequests(authorizeRequests -> {
+                    authorizeRequests
+                            // Allow all access to health check
+                            .requestMatchers("/status").permitAll()
+                            // Allow all access to error endpoints
+                            .requestMatchers("/error/**").permitAll()
+                            // Allow all to login and signup
+                            .requestMatchers("/users/login", "/users/signup").permitAll()
+                            // Allow OpenAPI access
+                            .requestMatchers("/v3/api-docs/**").permitAll()
+                            // Allow Swagger UI
+                            .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
+                            .requestMatchers("/test-utils/reset-database").permitAll()
+                            // Unless a scraper credential is configured
+                            .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+                            // Statements per handler give away how the API is built
+                            .requestMatchers("/actuator/querystats").hasRole("ADMIN");
+                    // Seeding progress, checked before anyone can log in. Only the
+                    // seed profile, part of dev and test, seeds the database
+                    if (environment.matchesProfiles("seed")) {
+                        authorizeRequests.requestMatchers("/actuator/seed").permitAll();
+                    }
+                    authorizeRequests.anyRequest().authenticated();
+                })
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
                 .oauth2ResourceServer(resourceServer -> resourceServer.jwt(Customizer.withDefaults()))
@@ -98,6 +148,8 @@ public class SecurityConfig {
         }
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
+        configuration.addExposedHeader(ScheduleController.NEXT_CURSOR_HEADER);
+        configuration.addExposedHeader(HttpHeaders.ETAG);
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -106,8 +158,29 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties,
+            MeterRegistry meterRegistry) {
+        final int minCost = passwordHashingProperties.minCost();
+        if (passwordHashingProperties.bcryptCost() > 0 && passwordHashingProperties.bcryptCost() < minCost) {
+            throw new IllegalStateException("password-hashing.bcrypt-cost must be at least " + minCost
+                    + " (password-hashing.min-cost)");
+        }
+        final int cost = passwordHashingProperties.bcryptCost() > 0
+                ? passwordHashingProperties.bcryptCost()
+                : BCryptCostCalibrator.calibrate(passwordHashingProperties.targetDuration(), minCost);
+        log.info("Hashing passwords with BCrypt cost {}", cost);
+
+        // Hashes with a lower cost are rehashed on the next successful login
+        final var bcrypt = new CostAwareBCryptPasswordEncoder(cost);
+        final var encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before the {bcrypt} prefix was introduced have no prefix
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(
+                encoder,
+                passwordHashingProperties.effectiveThreads(),
+                passwordHashingProperties.queueCapacity(),
+                passwordHashingProperties.retryAfter(),
+                meterRegistry);
     }
 
     @Bean
@@ -126,8 +199,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(SecretKey secretKey) {
-        return NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+    public JwtDecoder jwtDecoder(SecretKey secretKey, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        final var decoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+        if (jwtProperties.cache().maxEntries() <= 0) {
+            return decoder;
+        }
+        // The same token is sent with every request until it expires
+        return new CachingJwtDecoder(decoder, jwtProperties.cache().maxEntries(), Clock.systemUTC(), meterRegistry);
     }
 
     @Bean
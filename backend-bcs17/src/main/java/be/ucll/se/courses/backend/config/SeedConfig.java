@@ -0,0 +1,26 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.repository.DbInitializer;
+import be.ucll.se.courses.backend.service.SeedJob;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Seeding is opt-in: only with the {@code seed} profile, which the
+ * {@code dev} and {@code test} profiles include, is the database seeded after
+ * startup.
+ */
+@Configuration
+@Profile("seed")
+public class SeedConfig {
+    @Bean
+    public SeedJob seedJob(DbInitializer dbInitializer) {
+        return new SeedJob(dbInitializer);
+    }
+
+    @Bean
+    public SeedEndpoint seedEndpoint(SeedJob seedJob) {
+        return new SeedEndpoint(seedJob);
+    }
+}
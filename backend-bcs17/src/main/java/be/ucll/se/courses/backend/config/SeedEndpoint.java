@@ -0,0 +1,23 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.service.SeedJob;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/seed}: how far the background seeding has got, so E2E
+ * runs can wait for it before they log in.
+ */
+@Endpoint(id = "seed")
+public class SeedEndpoint {
+    private final SeedJob seedJob;
+
+    public SeedEndpoint(SeedJob seedJob) {
+        this.seedJob = seedJob;
+    }
+
+    @ReadOperation
+    public SeedJob.Progress progress() {
+        return seedJob.getProgress();
+    }
+}
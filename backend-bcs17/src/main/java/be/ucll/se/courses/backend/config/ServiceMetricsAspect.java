@@ -0,0 +1,100 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the services behind the REST API as
+ * {@code service.calls}, tagged with the service, the method and the outcome.
+ * The outcomes follow the responses of the {@code ExceptionHandlers}, so an
+ * SLO can count only the calls that were the server's fault. Histograms and
+ * percentiles are configured under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * *(..)) && ("
+            + "within(be.ucll.se.courses.backend.service.ScheduleService) "
+            + "|| within(be.ucll.se.courses.backend.service.UserService) "
+            + "|| within(be.ucll.se.courses.backend.service.AssignmentService) "
+            + "|| within(be.ucll.se.courses.backend.service.LecturerService) "
+            + "|| within(be.ucll.se.courses.backend.service.StudentService) "
+            + "|| within(be.ucll.se.courses.backend.service.CourseService))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        final var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        final long start = System.nanoTime();
+        var outcome = Outcome.OK;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            timer(method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Method method, Outcome outcome) {
+        return timers.computeIfAbsent(new TimerKey(method, outcome), key -> Timer.builder("service.calls")
+                .description("Time spent in service methods")
+                .tag("service", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome.toString())
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(Method method, Outcome outcome) {
+    }
+
+    enum Outcome {
+        OK,
+        NOT_FOUND,
+        DOMAIN_ERROR,
+        DENIED,
+        BUSY,
+        ERROR;
+
+        static Outcome of(Throwable exception) {
+            return switch (exception) {
+                case NotFoundException notFound -> NOT_FOUND;
+                case CoursesException domainError -> DOMAIN_ERROR;
+                case AccessDeniedException denied -> DENIED;
+                case AuthenticationException denied -> DENIED;
+                case ServiceBusyException busy -> BUSY;
+                case DataAccessResourceFailureException busy -> BUSY;
+                case CannotCreateTransactionException busy -> BUSY;
+                default -> ERROR;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package be.ucll.se.courses.backend.config;
+
+import be.ucll.se.courses.backend.repository.SubmissionRepository;
+import be.ucll.se.courses.backend.service.SubmissionQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(SubmissionQueueProperties.class)
+public class SubmissionQueueConfig {
+    /**
+     * Only created when write-behind ingestion is switched on; otherwise
+     * submissions are inserted while the request waits.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "submissions.queue", name = "enabled", havingValue = "true")
+    public SubmissionQueue submissionQueue(SubmissionRepository submissionRepository,
+            TransactionTemplate transactionTemplate,
+            SubmissionQueueProperties properties) {
+        return new SubmissionQueue(submissionRepository, transactionTemplate, properties);
+    }
+}
@@ -0,0 +1,21 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for write-behind submission ingestion. When enabled, submissions
+ * are acknowledged as soon as they are in the write-ahead log in
+ * {@code directory} and written to the database in the background.
+ */
+@ConfigurationProperties(prefix = "submissions.queue")
+public record SubmissionQueueProperties(@DefaultValue("false") boolean enabled,
+        @DefaultValue("data/submission-log") Path directory,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("16MB") DataSize segmentSize) {
+}
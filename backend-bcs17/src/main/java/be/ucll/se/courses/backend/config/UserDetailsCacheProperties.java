@@ -0,0 +1,20 @@
+package be.ucll.se.courses.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds of the cache of users looked up while logging in.
+ *
+ * @param maxEntries  the most usernames kept; 0 disables the cache
+ * @param ttl         how long a found user is kept, in case an invalidation
+ *                    is missed
+ * @param negativeTtl how long an unknown username is remembered
+ */
+@ConfigurationProperties(prefix = "user-details-cache")
+public record UserDetailsCacheProperties(@DefaultValue("10000") int maxEntries,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl) {
+}
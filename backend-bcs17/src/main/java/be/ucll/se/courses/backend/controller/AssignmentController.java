@@ -1,19 +1,30 @@
 package be.ucll.se.courses.backend.controller;
 
+import be.ucll.se.courses.backend.controller.dto.SubmissionInput;
 import be.ucll.se.courses.backend.model.Assignment;
+import be.ucll.se.courses.backend.model.Submission;
 import be.ucll.se.courses.backend.service.AssignmentService;
+import be.ucll.se.courses.backend.service.SubmissionService;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/assignments")
 public class AssignmentController {
     private final AssignmentService assignmentService;
+    private final SubmissionService submissionService;
 
-    public AssignmentController(AssignmentService assignmentService) {
+    public AssignmentController(AssignmentService assignmentService, SubmissionService submissionService) {
         this.assignmentService = assignmentService;
+        this.submissionService = submissionService;
     }
 
     @PostMapping
@@ -23,18 +34,32 @@ public class AssignmentController {
     }
 
     @GetMapping
-    public List<Assignment> getAllAssignments() {
-        return assignmentService.getAllAssignments();
+    public ResponseEntity<List<Assignment>> getAllAssignments(WebRequest request) {
+        return conditional(assignmentService.getAllAssignments(), request);
     }
 
     @GetMapping("/{id}")
-    public Assignment getAssignmentById(@PathVariable Long id) {
-        return assignmentService.getAssignmentById(id);
+    public ResponseEntity<Assignment> getAssignmentById(@PathVariable Long id, WebRequest request) {
+        final var assignment = assignmentService.getAssignmentById(id);
+        final var version = assignmentService.getVersion(List.of(assignment));
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(assignment);
     }
 
+    /**
+     * Polled by the frontend to find new assignments, so unchanged lists are
+     * answered with a 304 without being serialized. Like for every assignment
+     * endpoint, the validator is computed from the loaded assignments, so a
+     * 304 saves the serialization and the transfer but not the queries.
+     */
     @GetMapping("/schedule/{scheduleId}")
-    public List<Assignment> getAssignmentsByScheduleId(@PathVariable Long scheduleId) {
-        return assignmentService.getAssignmentsByScheduleId(scheduleId);
+    public ResponseEntity<List<Assignment>> getAssignmentsByScheduleId(@PathVariable Long scheduleId,
+            WebRequest request) {
+        return conditional(assignmentService.getAssignmentsByScheduleId(scheduleId), request);
     }
 
     @PutMapping("/{id}")
@@ -48,9 +73,34 @@ public class AssignmentController {
         assignmentService.deleteAssignment(id);
     }
 
+    @GetMapping("/{id}/submissions")
+    public List<Submission> getSubmissions(@PathVariable Long id, Authentication authentication) {
+        return submissionService.getSubmissions(id, authentication);
+    }
+
+    /**
+     * Responds with 201 and the stored submission, or with 202 and a receipt
+     * when submissions are queued and written to the database later.
+     */
     @PostMapping("/{id}/submissions")
-    @ResponseStatus(HttpStatus.CREATED)
-    public String submitAssignment(@PathVariable Long id, @RequestBody String submissionContent) {
-        return "Submission received for assignment ID: " + id;
+    public ResponseEntity<?> submitAssignment(@PathVariable Long id, @Valid @RequestBody SubmissionInput submissionInput,
+            Authentication authentication) {
+        final var receivedAt = Instant.now();
+        if (submissionService.isQueued()) {
+            return ResponseEntity.accepted()
+                    .body(submissionService.enqueue(id, authentication.getName(), submissionInput, receivedAt));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(submissionService.submit(id, authentication.getName(), submissionInput, receivedAt));
+    }
+
+    private ResponseEntity<List<Assignment>> conditional(List<Assignment> assignments, WebRequest request) {
+        final var version = assignmentService.getVersion(assignments);
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(assignments);
     }
-}
\ No newline at end of file
+}
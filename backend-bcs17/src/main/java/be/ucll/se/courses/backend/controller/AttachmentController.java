@@ -0,0 +1,142 @@
+package be.ucll.se.courses.backend.controller;
+
+import be.ucll.se.courses.backend.model.SubmissionAttachment;
+import be.ucll.se.courses.backend.service.AttachmentService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@RestController
+@RequestMapping("/assignments")
+public class AttachmentController {
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AttachmentService attachmentService;
+
+    public AttachmentController(AttachmentService attachmentService) {
+        this.attachmentService = attachmentService;
+    }
+
+    /**
+     * Upload an attachment for the authenticated student's submission. The
+     * request body is the raw file, which is streamed to disk as it arrives,
+     * so uploads are not buffered in memory the way multipart requests are.
+     */
+    @PostMapping("/{id}/attachments")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SubmissionAttachment uploadAttachment(@PathVariable Long id, @RequestParam String fileName,
+            Authentication authentication, HttpServletRequest request) throws IOException {
+        return attachmentService.upload(id, authentication.getName(), fileName, request.getContentType(),
+                request.getInputStream());
+    }
+
+    @GetMapping("/{id}/attachments")
+    public List<SubmissionAttachment> getAttachments(@PathVariable Long id, Authentication authentication) {
+        return attachmentService.getAttachments(id, authentication);
+    }
+
+    /**
+     * Download an attachment, or a single byte range of it. The file never
+     * passes through the heap: on Tomcat it is handed to {@code sendfile},
+     * elsewhere it is copied with {@link FileChannel#transferTo}.
+     */
+    @GetMapping("/{id}/attachments/{attachmentId}")
+    public void downloadAttachment(@PathVariable Long id, @PathVariable Long attachmentId,
+            Authentication authentication, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        final var attachment = attachmentService.getAttachment(id, attachmentId, authentication);
+        // The content never changes, so its digest is a strong ETag
+        final var etag = "\"" + attachment.getSha256() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        final long length = attachment.getSize();
+        long start = 0;
+        long end = length - 1;
+        final var range = requestedRange(request, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            // HttpRange clamps the end to the file but not the start
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentType(attachment.getContentType());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        transfer(attachmentService.getFile(attachment), start, end + 1 - start, request, response);
+    }
+
+    /**
+     * The single range the client asked for, or null to send the whole file.
+     * Malformed, multiple and outdated ranges are ignored, as HTTP allows.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        final var rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        final var ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            final var ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void transfer(Path file, long position, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(count);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat sends the file straight from the page cache once the request returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, position);
+            request.setAttribute(SENDFILE_END, position + count);
+            return;
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var target = Channels.newChannel(response.getOutputStream());
+            long transferred = 0;
+            while (transferred < count) {
+                final long chunk = channel.transferTo(position + transferred, count - transferred, target);
+                if (chunk <= 0) {
+                    throw new IOException("Attachment " + file + " is shorter than expected");
+                }
+                transferred += chunk;
+            }
+        }
+    }
+}
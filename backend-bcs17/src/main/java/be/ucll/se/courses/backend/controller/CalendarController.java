@@ -0,0 +1,42 @@
+package be.ucll.se.courses.backend.controller;
+
+import be.ucll.se.courses.backend.service.ScheduleCalendarService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/schedules")
+public class CalendarController {
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar");
+
+    private final ScheduleCalendarService scheduleCalendarService;
+
+    public CalendarController(ScheduleCalendarService scheduleCalendarService) {
+        this.scheduleCalendarService = scheduleCalendarService;
+    }
+
+    /**
+     * Get the timetable of the authenticated lecturer or student as an
+     * iCalendar feed. Calendar clients that poll with {@code If-None-Match}
+     * get a 304 without the timetable being read when nothing changed.
+     */
+    @GetMapping("/calendar.ics")
+    public ResponseEntity<StreamingResponseBody> getCalendar(Authentication authentication, WebRequest request) {
+        final var version = scheduleCalendarService.getCalendarVersion(authentication);
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .cacheControl(CacheControl.noCache())
+                .body(outputStream -> scheduleCalendarService.writeCalendar(authentication, outputStream));
+    }
+}
@@ -2,10 +2,13 @@ package be.ucll.se.courses.backend.controller;
 
 import be.ucll.se.courses.backend.model.Course;
 import be.ucll.se.courses.backend.service.CourseService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/courses")
@@ -16,8 +19,21 @@ public class CourseController {
         this.courseService = courseService;
     }
 
+    /**
+     * Get a course. Clients that revalidate with {@code If-None-Match} or
+     * {@code If-Modified-Since} get a 304 without the course being loaded
+     * when it did not change. The version is read before the course, so a
+     * concurrent update can only make the validator older than the body,
+     * which costs one extra full response and never a stale one.
+     */
     @GetMapping("/{id}")
-    public Course getCourseById(@PathVariable long id) {
-        return courseService.getCourseById(id);
+    public ResponseEntity<Course> getCourseById(@PathVariable long id, WebRequest request) {
+        final var version = courseService.getCourseVersion(id);
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(courseService.getCourseById(id));
     }
 }
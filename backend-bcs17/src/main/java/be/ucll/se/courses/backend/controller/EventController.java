@@ -0,0 +1,32 @@
+package be.ucll.se.courses.backend.controller;
+
+import be.ucll.se.courses.backend.controller.dto.ChangeEvent;
+import be.ucll.se.courses.backend.service.ChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/events")
+public class EventController {
+    private final ChangeFeed changeFeed;
+
+    public EventController(ChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Stream of changes to the schedules and assignments the authenticated
+     * user can see, so clients no longer have to poll {@code GET /schedules}
+     * and {@code GET /assignments/schedule/{id}}. The stream ends after a
+     * while; {@code EventSource} reconnects by itself.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ChangeEvent>> getEvents(Authentication authentication) {
+        return changeFeed.subscribe(authentication);
+    }
+}
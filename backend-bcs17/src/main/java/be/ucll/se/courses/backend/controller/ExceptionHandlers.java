@@ -2,7 +2,13 @@ package be.ucll.se.courses.backend.controller;
 
 import be.ucll.se.courses.backend.exception.CoursesException;
 import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.exception.ScheduleConflictException;
+import be.ucll.se.courses.backend.exception.ServiceBusyException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -20,6 +26,40 @@ public class ExceptionHandlers {
         );
     }
 
+    @ExceptionHandler(ScheduleConflictException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleScheduleConflictException(ScheduleConflictException conflictException) {
+        return Map.of(
+                "status", "domain error",
+                "message", conflictException.getMessage(),
+                "conflicts", conflictException.getConflicts()
+        );
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Map<String, String>> handleServiceBusyException(ServiceBusyException busyException) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, busyException.getRetryAfter().toSeconds())))
+                .body(Map.of(
+                        "status", "busy",
+                        "message", busyException.getMessage()
+                ));
+    }
+
+    /**
+     * No database connection became available in time, most likely because
+     * the database concurrency limit was reached.
+     */
+    @ExceptionHandler({ DataAccessResourceFailureException.class, CannotCreateTransactionException.class })
+    public ResponseEntity<Map<String, String>> handleDatabaseUnavailable(RuntimeException unavailableException) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                        "status", "busy",
+                        "message", "The database is busy, please try again"
+                ));
+    }
+
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, String> handleNotFoundException(NotFoundException notFoundError) {
@@ -2,7 +2,10 @@ package be.ucll.se.courses.backend.controller;
 
 import be.ucll.se.courses.backend.model.Lecturer;
 import be.ucll.se.courses.backend.service.LecturerService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,12 +19,24 @@ public class LecturerController {
     }
 
     @GetMapping
-    public List<Lecturer> getLecturers() {
-        return lecturerService.getAllLecturers();
+    public ResponseEntity<List<Lecturer>> getLecturers(WebRequest request) {
+        final var version = lecturerService.getLecturersVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(lecturerService.getAllLecturers());
     }
 
     @GetMapping("/{id}")
-    public Lecturer getLecturerById(@PathVariable long id) {
-        return lecturerService.getLecturerById(id);
+    public ResponseEntity<Lecturer> getLecturerById(@PathVariable long id, WebRequest request) {
+        final var version = lecturerService.getLecturerVersion(id);
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(lecturerService.getLecturerById(id));
     }
 }
@@ -1,12 +1,16 @@
 package be.ucll.se.courses.backend.controller;
 
+import be.ucll.se.courses.backend.controller.dto.ScheduleFilter;
 import be.ucll.se.courses.backend.controller.dto.ScheduleInput;
 import be.ucll.se.courses.backend.controller.dto.EnrollmentInput;
+import be.ucll.se.courses.backend.controller.dto.EnrollmentResult;
 import be.ucll.se.courses.backend.model.Schedule;
 import be.ucll.se.courses.backend.service.ScheduleService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -14,6 +18,8 @@ import java.util.Map;
 @RestController
 @RequestMapping("schedules")
 public class ScheduleController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ScheduleService scheduleService;
 
     public ScheduleController(ScheduleService scheduleService) {
@@ -22,11 +28,28 @@ public class ScheduleController {
 
     /**
      * Get the schedule of a lecturer or if the user is an admin, a list of all
-     * schedules.
+     * schedules. The list is paginated: when there are more results, the
+     * cursor for the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+     * header, and clients that want every schedule have to follow it. When the
+     * page did not change, revalidating clients get a 304 without it being
+     * serialized.
+     * <p>
+     * The validator is computed from the loaded page, so a 304 saves the
+     * serialization and the transfer but not the queries.
      */
     @GetMapping
-    public List<Schedule> getSchedules(Authentication authentication) {
-        return scheduleService.getSchedules(authentication);
+    public ResponseEntity<List<Schedule>> getSchedules(Authentication authentication, ScheduleFilter filter,
+            WebRequest request) {
+        final var page = scheduleService.getSchedules(authentication, filter);
+        final var version = scheduleService.getVersion(page);
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        final var response = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.schedules());
     }
 
     @GetMapping("/auth-check")
@@ -46,4 +69,13 @@ public class ScheduleController {
     public Schedule enroll(@RequestBody EnrollmentInput enrollmentInput) {
         return scheduleService.enroll(enrollmentInput);
     }
+
+    /**
+     * Enrolls a cohort of students and reports the outcome per student instead
+     * of failing on the first unknown student.
+     */
+    @PostMapping("/enroll/batch")
+    public EnrollmentResult enrollAll(@RequestBody EnrollmentInput enrollmentInput) {
+        return scheduleService.enrollAll(enrollmentInput);
+    }
 }
@@ -2,9 +2,12 @@ package be.ucll.se.courses.backend.controller;
 
 import be.ucll.se.courses.backend.model.Student;
 import be.ucll.se.courses.backend.service.StudentService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,7 +21,13 @@ public class StudentController {
     }
 
     @GetMapping
-    public List<Student> getAllStudents() {
-        return studentService.getAllStudents();
+    public ResponseEntity<List<Student>> getAllStudents(WebRequest request) {
+        final var version = studentService.getStudentsVersion();
+        if (request.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(studentService.getAllStudents());
     }
 }
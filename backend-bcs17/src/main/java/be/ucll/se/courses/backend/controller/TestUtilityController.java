@@ -25,12 +25,13 @@ public class TestUtilityController {
     /**
      * Endpoint to reset the database to its initial state.
      * This is useful for E2E tests to ensure test isolation.
+     * After the first reset this restores a snapshot, which takes milliseconds.
      * 
      * @return Response indicating success
      */
     @PostMapping("/reset-database")
     public ResponseEntity<String> resetDatabase() {
-        dbInitializer.init();
+        dbInitializer.reset();
         return ResponseEntity.ok("Database reset successfully");
     }
 }
@@ -0,0 +1,37 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A change pushed to clients of {@code GET /events}, telling them which
+ * schedule or assignment to fetch again.
+ *
+ * @param id           increases with every event on this node
+ * @param assignmentId only set for assignment events
+ * @param studentIds   only set for {@link Type#STUDENTS_ENROLLED}: the
+ *                     students that were newly enrolled
+ */
+public record ChangeEvent(
+        long id,
+        Type type,
+        long scheduleId,
+        Long assignmentId,
+        List<Long> studentIds,
+        Instant occurredAt
+) {
+    public enum Type {
+        SCHEDULE_CREATED,
+        STUDENTS_ENROLLED,
+        ASSIGNMENT_PUBLISHED,
+        ASSIGNMENT_UPDATED;
+
+        /**
+         * The SSE event name, e.g. {@code students-enrolled}.
+         */
+        public String eventName() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a batch enrollment, with one entry per requested student in the
+ * order they were requested.
+ */
+public record EnrollmentResult(
+        long scheduleId,
+        List<StudentResult> students
+) {
+    /**
+     * @param clashes other schedules the student is enrolled in that overlap
+     *                this one
+     */
+    public record StudentResult(long id, Status status, List<Clash> clashes) {}
+
+    public record Clash(long scheduleId, Instant start, Instant end) {}
+
+    public enum Status {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        UNKNOWN_STUDENT;
+
+        @Override
+        @JsonValue
+        public String toString() {
+            return super.toString().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+/**
+ * Query parameters accepted by {@code GET /schedules}. Every filter is
+ * optional; {@code cursor} is the opaque token returned in the
+ * {@code X-Next-Cursor} header of the previous page.
+ */
+public record ScheduleFilter(
+        Long courseId,
+        Long lecturerId,
+        Integer phase,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        Instant from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        Instant to,
+        String cursor,
+        Integer limit
+) {
+    public static ScheduleFilter unfiltered() {
+        return new ScheduleFilter(null, null, null, null, null, null, null);
+    }
+}
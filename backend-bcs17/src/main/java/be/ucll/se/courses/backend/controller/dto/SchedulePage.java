@@ -0,0 +1,15 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import be.ucll.se.courses.backend.model.Schedule;
+
+import java.util.List;
+
+/**
+ * One page of schedules ordered by {@code (start, id)}. {@code nextCursor} is
+ * {@code null} on the last page.
+ */
+public record SchedulePage(
+        List<Schedule> schedules,
+        String nextCursor
+) {
+}
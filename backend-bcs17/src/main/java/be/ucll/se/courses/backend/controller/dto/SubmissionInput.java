@@ -0,0 +1,15 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * @param status {@code draft} to save work in progress, {@code submitted}
+ *               (the default) to hand it in
+ */
+public record SubmissionInput(
+        @NotBlank
+        String content,
+        SubmissionStatus status
+) {
+}
@@ -0,0 +1,13 @@
+package be.ucll.se.courses.backend.controller.dto;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+
+import java.time.Instant;
+
+/**
+ * Returned for a queued submission: it is safely stored but may not be
+ * visible in the submission list yet. {@code submittedAt} is the time that
+ * counts for the deadline.
+ */
+public record SubmissionReceipt(long assignmentId, long studentId, SubmissionStatus status, Instant submittedAt) {
+}
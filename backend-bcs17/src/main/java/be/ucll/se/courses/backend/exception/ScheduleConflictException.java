@@ -0,0 +1,19 @@
+package be.ucll.se.courses.backend.exception;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ScheduleConflictException extends CoursesException {
+    private final List<Conflict> conflicts;
+
+    public ScheduleConflictException(String message, List<Conflict> conflicts) {
+        super(message);
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    public record Conflict(long scheduleId, Instant start, Instant end) {}
+}
@@ -0,0 +1,20 @@
+package be.ucll.se.courses.backend.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is turned away because the server is at capacity
+ * for that kind of work. The client may try again after {@link #getRetryAfter()}.
+ */
+public class ServiceBusyException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,15 +1,18 @@
 package be.ucll.se.courses.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
 @Entity
 public class Assignment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assignment_seq")
+    @SequenceGenerator(name = "assignment_seq", sequenceName = "assignment_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -26,7 +29,7 @@ public class Assignment {
     @Temporal(TemporalType.TIMESTAMP)
     private Instant createdAt;
 
-    @CreationTimestamp
+    @UpdateTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     private Instant updatedAt;
 
@@ -88,6 +91,11 @@ public class Assignment {
         isPublished = published;
     }
 
+    @JsonIgnore
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
     public Schedule getSchedule() {
         return schedule;
     }
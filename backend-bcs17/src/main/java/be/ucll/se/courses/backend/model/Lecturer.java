@@ -4,16 +4,22 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Lecturer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lecturer_seq")
+    @SequenceGenerator(name = "lecturer_seq", sequenceName = "lecturer_seq", allocationSize = 50)
     private Long id;
 
     @CreationTimestamp
@@ -21,7 +27,7 @@ public class Lecturer {
     @JsonIgnore
     private Instant createdAt;
 
-    @CreationTimestamp
+    @UpdateTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     @JsonIgnore
     private Instant updatedAt;
@@ -35,6 +41,7 @@ public class Lecturer {
     private User user;
 
     @ManyToMany(mappedBy = "lecturers")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JsonManagedReference
     private List<Course> courses = new ArrayList<>();
 
@@ -0,0 +1,157 @@
+package be.ucll.se.courses.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+public class Submission {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Only referenced by id, so a submission can be stored without loading
+    // the assignment or student
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignment_id")
+    @JsonIgnore
+    private Assignment assignment;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id")
+    @JsonIgnore
+    private Student student;
+
+    @NotNull
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private SubmissionStatus status;
+
+    @NotNull
+    private Instant submittedAt;
+
+    private Instant lastEditedAt;
+
+    @Column(precision = 5, scale = 2)
+    private BigDecimal grade;
+
+    @Column(columnDefinition = "TEXT")
+    private String feedback;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "graded_by")
+    @JsonIgnore
+    private User gradedBy;
+
+    private Instant gradedAt;
+
+    protected Submission() {}
+
+    public Submission(Assignment assignment,
+                      Student student,
+                      String content,
+                      SubmissionStatus status,
+                      Instant submittedAt) {
+        this.assignment = assignment;
+        this.student = student;
+        this.content = content;
+        this.status = status;
+        this.submittedAt = submittedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Assignment getAssignment() {
+        return assignment;
+    }
+
+    public Long getAssignmentId() {
+        return assignment.getId();
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Long getStudentId() {
+        return student.getId();
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public SubmissionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SubmissionStatus status) {
+        this.status = status;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getLastEditedAt() {
+        return lastEditedAt;
+    }
+
+    public void setLastEditedAt(Instant lastEditedAt) {
+        this.lastEditedAt = lastEditedAt;
+    }
+
+    public BigDecimal getGrade() {
+        return grade;
+    }
+
+    public void setGrade(BigDecimal grade) {
+        this.grade = grade;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+
+    public User getGradedBy() {
+        return gradedBy;
+    }
+
+    public void setGradedBy(User gradedBy) {
+        this.gradedBy = gradedBy;
+    }
+
+    public Instant getGradedAt() {
+        return gradedAt;
+    }
+
+    public void setGradedAt(Instant gradedAt) {
+        this.gradedAt = gradedAt;
+    }
+}
@@ -0,0 +1,96 @@
+package be.ucll.se.courses.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * A file a student attached to their submission. The content itself lives in
+ * the attachment store, keyed by its SHA-256 digest, so identical uploads
+ * share one file on disk.
+ */
+@Entity
+public class SubmissionAttachment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignment_id")
+    @JsonIgnore
+    private Assignment assignment;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id")
+    @JsonIgnore
+    private Student student;
+
+    @NotNull
+    @Column(length = 64)
+    private String sha256;
+
+    @NotNull
+    private String fileName;
+
+    @NotNull
+    private String contentType;
+
+    private long size;
+
+    @NotNull
+    private Instant uploadedAt;
+
+    protected SubmissionAttachment() {}
+
+    public SubmissionAttachment(Assignment assignment,
+                                Student student,
+                                String sha256,
+                                String fileName,
+                                String contentType,
+                                long size,
+                                Instant uploadedAt) {
+        this.assignment = assignment;
+        this.student = student;
+        this.sha256 = sha256;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.uploadedAt = uploadedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAssignmentId() {
+        return assignment.getId();
+    }
+
+    public Long getStudentId() {
+        return student.getId();
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Instant getUploadedAt() {
+        return uploadedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package be.ucll.se.courses.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+public enum SubmissionStatus {
+    DRAFT,
+    SUBMITTED,
+    GRADED;
+
+    @Override
+    @JsonValue
+    public String toString() {
+        return super.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,10 +1,27 @@
 package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.Assignment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Lists of assignments are read with their schedule and its to-one
+ * associations joined in, like {@link ScheduleRepository#READ_GRAPH}; the
+ * collections of those schedules are batch fetched.
+ */
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
+    @Override
+    @EntityGraph(attributePaths = { "schedule", "schedule.course", "schedule.lecturer", "schedule.lecturer.user" })
+    List<Assignment> findAll();
+
+    @EntityGraph(attributePaths = { "schedule", "schedule.course", "schedule.lecturer", "schedule.lecturer.user" })
     List<Assignment> findBySchedule_Id(Long scheduleId);
-}
\ No newline at end of file
+
+    @Query("select lecturerUser.username from Assignment assignment join assignment.schedule schedule "
+            + "join schedule.lecturer lecturer join lecturer.user lecturerUser where assignment.id = :assignmentId")
+    Optional<String> findLecturerUsername(long assignmentId);
+}
@@ -0,0 +1,139 @@
+package be.ucll.se.courses.backend.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes many rows into one table on a plain JDBC connection: through
+ * {@code COPY} on PostgreSQL and in JDBC batches on other databases. Values
+ * are given in the order of the columns; {@link Instant}s are written as
+ * timestamps.
+ */
+interface BulkWriter extends AutoCloseable {
+    void row(Object... values) throws SQLException;
+
+    /**
+     * Writes what is still buffered.
+     */
+    @Override
+    void close() throws SQLException;
+
+    static BulkWriter open(Connection connection, String table, List<String> columns, int batchSize)
+            throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopyWriter(connection.unwrap(PGConnection.class).getCopyAPI(), table, columns);
+        }
+        return new BatchWriter(connection, table, columns, batchSize);
+    }
+
+    static boolean isPostgres(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+    }
+
+    /**
+     * Inserts rows in JDBC batches of {@code batchSize}.
+     */
+    final class BatchWriter implements BulkWriter {
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        BatchWriter(Connection connection, String table, List<String> columns, int batchSize) throws SQLException {
+            this.statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.size() - 1) + "?)");
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i] instanceof Instant instant ? Timestamp.from(instant) : values[i]);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * Streams rows into one {@code COPY ... FROM STDIN} as CSV, which skips
+     * per-row statement overhead altogether.
+     */
+    final class CopyWriter implements BulkWriter {
+        private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE);
+
+        CopyWriter(CopyManager copyManager, String table, List<String> columns) throws SQLException {
+            this.copyIn = copyManager.copyIn("COPY " + table + " (" + String.join(", ", columns)
+                    + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+
+        private void appendCsv(Object value) {
+            switch (value) {
+                // An unquoted empty field is NULL, a quoted one an empty string
+                case null -> {
+                }
+                case String text -> buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                // Written like JDBC binds a Timestamp, in the JVM's time zone
+                case Instant instant -> buffer.append(Timestamp.from(instant));
+                default -> buffer.append(value);
+            }
+        }
+
+        private void flush() throws SQLException {
+            final var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.time.Instant;
+
+/**
+ * Everything a calendar entry shows about a schedule, read without loading
+ * the schedule entity graph.
+ */
+public record CalendarEvent(
+        Long scheduleId,
+        Instant start,
+        Instant end,
+        Instant updatedAt,
+        String courseName,
+        String courseDescription,
+        String lecturerFirstName,
+        String lecturerLastName) {
+}
@@ -1,7 +1,15 @@
 package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(course), max(course.updatedAt)) "
+            + "from Course course where course.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    DataVersion findVersionById(long id);
 }
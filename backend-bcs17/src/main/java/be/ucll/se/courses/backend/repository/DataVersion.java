@@ -0,0 +1,35 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Summary of a set of rows that changes whenever a row is added, removed or
+ * updated: the number of rows and the most recent {@code updatedAt}.
+ */
+public record DataVersion(Long count, Instant lastModified) {
+    /**
+     * The version of rows that were already loaded, from the
+     * {@code updatedAt} of every entity in them.
+     */
+    public static DataVersion of(long count, Stream<Instant> updatedAt) {
+        return new DataVersion(count, updatedAt.filter(Objects::nonNull).max(Comparator.naturalOrder()).orElse(null));
+    }
+
+    /**
+     * A strong validator for a representation of these rows.
+     */
+    public String eTag() {
+        return "\"" + count + "-" + lastModifiedMillis() + "\"";
+    }
+
+    /**
+     * The {@code Last-Modified} time in milliseconds, or -1 when there are no
+     * rows.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
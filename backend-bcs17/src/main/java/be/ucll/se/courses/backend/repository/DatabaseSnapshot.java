@@ -0,0 +1,148 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.service.UserDetailsCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copy of the rows of every table, kept in memory, so the database can be
+ * put back into a known state without replaying how that state was built.
+ * <p>
+ * {@link #clear()} and {@link #restore()} write with plain JDBC in one
+ * transaction, so other connections see either the old or the new contents.
+ * Because they bypass JPA, both also drop the second-level cache, the
+ * {@link LecturerScheduleIndex} and the {@link UserDetailsCache}.
+ */
+@Component
+public class DatabaseSnapshot {
+    /**
+     * Every table, parents before children.
+     */
+    private static final List<String> TABLES = List.of(
+            "\"user\"", "course", "lecturer", "student", "course_lecturers", "schedule", "schedule_students",
+            "assignment", "submission", "submission_attachment");
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LecturerScheduleIndex lecturerScheduleIndex;
+    private final UserDetailsCache userDetailsCache;
+    private volatile List<TableRows> snapshot;
+
+    public DatabaseSnapshot(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            LecturerScheduleIndex lecturerScheduleIndex,
+            UserDetailsCache userDetailsCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.lecturerScheduleIndex = lecturerScheduleIndex;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    /**
+     * Remembers the current rows of every table, replacing an earlier
+     * snapshot.
+     */
+    public void capture() {
+        snapshot = transactionTemplate.execute(status -> {
+            final var tables = new ArrayList<TableRows>(TABLES.size());
+            for (final var table : TABLES) {
+                tables.add(jdbcTemplate.query("SELECT * FROM " + table, resultSet -> {
+                    final var metaData = resultSet.getMetaData();
+                    final var columns = new ArrayList<String>(metaData.getColumnCount());
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        // Quoted exactly as the database reports them, so reserved words work too
+                        columns.add('"' + metaData.getColumnName(i) + '"');
+                    }
+                    final var rows = new ArrayList<Object[]>();
+                    while (resultSet.next()) {
+                        final var row = new Object[columns.size()];
+                        for (int i = 0; i < row.length; i++) {
+                            row[i] = resultSet.getObject(i + 1);
+                        }
+                        rows.add(row);
+                    }
+                    return new TableRows(table, columns, rows);
+                }));
+            }
+            return List.copyOf(tables);
+        });
+    }
+
+    public boolean isCaptured() {
+        return snapshot != null;
+    }
+
+    /**
+     * Deletes every row of every table.
+     */
+    public void clear() {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            deleteAll(connection);
+            return null;
+        }));
+        evictCaches();
+    }
+
+    /**
+     * Replaces the contents of every table with the captured rows. Ids keep
+     * counting from where they were, so rows created before the restore are
+     * never confused with restored ones.
+     */
+    public void restore() {
+        final var tables = snapshot;
+        if (tables == null) {
+            throw new IllegalStateException("No snapshot has been captured");
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            deleteAll(connection);
+            for (final var table : tables) {
+                if (table.rows().isEmpty()) {
+                    continue;
+                }
+                try (var writer = BulkWriter.open(connection, table.name(), table.columns(), BATCH_SIZE)) {
+                    for (final var row : table.rows()) {
+                        writer.row(row);
+                    }
+                }
+            }
+            return null;
+        }));
+        evictCaches();
+    }
+
+    private static void deleteAll(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            if (BulkWriter.isPostgres(connection)) {
+                // Transactional on PostgreSQL, unlike on H2
+                statement.execute("TRUNCATE " + String.join(", ", TABLES));
+            } else {
+                for (final var table : TABLES.reversed()) {
+                    statement.execute("DELETE FROM " + table);
+                }
+            }
+        }
+    }
+
+    private void evictCaches() {
+        final var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictAllRegions();
+        lecturerScheduleIndex.clear();
+        userDetailsCache.clear();
+    }
+
+    private record TableRows(String name, List<String> columns, List<Object[]> rows) {
+    }
+}
@@ -0,0 +1,339 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.config.DatasetProperties;
+import be.ucll.se.courses.backend.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database with a synthetic dataset of production size, as
+ * configured by {@link DatasetProperties}, next to whatever is already there.
+ * <p>
+ * The rows are written with a {@link BulkWriter} in a single transaction.
+ * Ids are assigned here, past everything Hibernate has reserved from the id
+ * sequences, and the sequences are moved past the generated rows afterwards. All randomness comes
+ * from one generator seeded with {@link DatasetProperties#seed()}, so a seed
+ * always produces the same data; only the ids are offset by the rows that
+ * already existed.
+ * <p>
+ * The generated data respects the rules {@code ScheduleService} enforces: a
+ * lecturer teaches each of their courses at most once and never teaches two
+ * schedules at the same time. Students may end up in overlapping schedules,
+ * which enrollment allows as well.
+ */
+public class DatasetGenerator {
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Brussels");
+    private static final LocalTime[] PERIODS = {
+            LocalTime.of(8, 30), LocalTime.of(10, 45), LocalTime.of(13, 30), LocalTime.of(15, 45) };
+    private static final int SLOTS_PER_WEEK = 5 * PERIODS.length;
+    private static final int SEMESTER_WEEKS = 15;
+    private static final Duration LESSON = Duration.ofHours(2);
+    // The allocationSize of the entities' id sequences
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {
+            "Emma", "Noah", "Olivia", "Liam", "Louise", "Arthur", "Mila", "Jules", "Elena", "Lucas",
+            "Nora", "Adam", "Julie", "Victor", "Lina", "Finn", "Marie", "Louis", "Sara", "Matteo" };
+    private static final String[] LAST_NAMES = {
+            "Peeters", "Janssens", "Maes", "Jacobs", "Mertens", "Willems", "Claes", "Goossens", "Wouters",
+            "DeSmet", "Dubois", "Lambert", "Dupont", "Martin", "Vermeulen", "Hermans", "Pauwels", "Aerts" };
+    private static final String[] TOPICS = {
+            "Programming", "Databases", "Web Development", "Networks", "Operating Systems", "Algorithms",
+            "Software Architecture", "Security", "Data Science", "Cloud Computing", "Mobile Development",
+            "Testing", "Linear Algebra", "Statistics", "Project Management", "User Experience" };
+    private static final String[] ASSIGNMENT_KINDS = {
+            "Exercise", "Lab", "Case study", "Project milestone", "Report", "Quiz" };
+    private static final int[] CREDITS = { 3, 4, 6 };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final LecturerScheduleIndex lecturerScheduleIndex;
+    private final DatasetProperties properties;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            EntityManagerFactory entityManagerFactory,
+            LecturerScheduleIndex lecturerScheduleIndex,
+            DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.lecturerScheduleIndex = lecturerScheduleIndex;
+        this.properties = properties;
+    }
+
+    public void generate() {
+        final int maxSchedulesPerLecturer = properties.lecturers() == 0 ? 0
+                : Math.ceilDiv(properties.schedules(), properties.lecturers());
+        if (properties.schedules() > 0 && properties.lecturers() == 0) {
+            throw new IllegalArgumentException("dataset.schedules needs at least one lecturer");
+        }
+        // Every lecturer teaches at least one course, and each of their courses once
+        final int coursesPerLecturer = properties.lecturers() == 0 ? 0 : Math.max(maxSchedulesPerLecturer, 1);
+        if (coursesPerLecturer > properties.courses()) {
+            throw new IllegalArgumentException("dataset.courses must be at least " + coursesPerLecturer);
+        }
+
+        final long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            new Run(connection).write();
+            return null;
+        }));
+        // Queries cached before these rows existed must not be answered from the cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        // The schedules were written past JPA, so the index never saw them
+        lecturerScheduleIndex.clear();
+
+        log.info("Generated {} students, {} lecturers, {} courses, {} schedules and {} assignments in {} ms",
+                properties.students(), properties.lecturers(), properties.courses(), properties.schedules(),
+                properties.assignments(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * One generation, on one connection. Draws from the random generator in
+     * a fixed order, table by table.
+     */
+    private final class Run {
+        private final Connection connection;
+        private final boolean postgres;
+        private final SplittableRandom random = new SplittableRandom(properties.seed());
+        private final LocalDate firstMonday = properties.firstDay().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        private final Instant generatedAt = firstMonday.atStartOfDay(ZONE).toInstant();
+
+        Run(Connection connection) throws SQLException {
+            this.connection = connection;
+            this.postgres = BulkWriter.isPostgres(connection);
+        }
+
+        void write() throws SQLException {
+            final String passwordHash = properties.passwordHash() != null
+                    ? properties.passwordHash()
+                    : passwordEncoder.encode(properties.password());
+
+            final long firstUserId = firstFreeId("\"user\"", "user_seq");
+            final long firstCourseId = firstFreeId("course", "course_seq");
+            final long firstLecturerId = firstFreeId("lecturer", "lecturer_seq");
+            final long firstStudentId = firstFreeId("student", "student_seq");
+            final long firstScheduleId = firstFreeId("schedule", "schedule_seq");
+            final long firstAssignmentId = firstFreeId("assignment", "assignment_seq");
+
+            writeCourses(firstCourseId);
+
+            // Every schedule of a lecturer is for another one of their courses
+            final int[] scheduleCounts = new int[properties.lecturers()];
+            final int[][] lecturerCourses = new int[properties.lecturers()][];
+            final int[] coursePool = pool(properties.courses());
+            for (int lecturer = 0; lecturer < properties.lecturers(); lecturer++) {
+                scheduleCounts[lecturer] = properties.schedules() / properties.lecturers()
+                        + (lecturer < properties.schedules() % properties.lecturers() ? 1 : 0);
+                lecturerCourses[lecturer] = sample(coursePool, Math.max(scheduleCounts[lecturer], 1));
+            }
+
+            try (var users = writer("\"user\"", "id", "created_at", "updated_at", "username", "first_name",
+                    "last_name", "email", "password", "role")) {
+                for (int i = 0; i < properties.lecturers() + properties.students(); i++) {
+                    final boolean lecturer = i < properties.lecturers();
+                    final var firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    final var lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    final var username = (firstName + "." + lastName).toLowerCase() + "." + (i + 1);
+                    users.row(firstUserId + i, generatedAt, generatedAt, username, firstName, lastName,
+                            username + (lecturer ? "@ucll.be" : "@student.ucll.be"), passwordHash,
+                            (lecturer ? Role.LECTURER : Role.STUDENT).name());
+                }
+            }
+
+            try (var lecturers = writer("lecturer", "id", "created_at", "updated_at", "expertise", "user_id")) {
+                for (int lecturer = 0; lecturer < properties.lecturers(); lecturer++) {
+                    final var courses = lecturerCourses[lecturer];
+                    final var expertise = courses.length == 1
+                            ? courseName(courses[0])
+                            : courseName(courses[0]) + ", " + courseName(courses[1]);
+                    lecturers.row(firstLecturerId + lecturer, generatedAt, generatedAt, expertise,
+                            firstUserId + lecturer);
+                }
+            }
+
+            try (var courseLecturers = writer("course_lecturers", "course_id", "lecturer_id")) {
+                for (int lecturer = 0; lecturer < properties.lecturers(); lecturer++) {
+                    for (final int course : lecturerCourses[lecturer]) {
+                        courseLecturers.row(firstCourseId + course, firstLecturerId + lecturer);
+                    }
+                }
+            }
+
+            try (var students = writer("student", "id", "created_at", "updated_at", "student_number", "user_id")) {
+                for (int student = 0; student < properties.students(); student++) {
+                    students.row(firstStudentId + student, generatedAt, generatedAt,
+                            "s%07d".formatted(student + 1),
+                            firstUserId + properties.lecturers() + student);
+                }
+            }
+
+            // Spread each lecturer's schedules over the semester, one per slot
+            final var scheduleEnds = new Instant[properties.schedules()];
+            final int slots = Math.max(SEMESTER_WEEKS * SLOTS_PER_WEEK, maxScheduleCount(scheduleCounts));
+            try (var schedules = writer("schedule", "id", "created_at", "updated_at", "\"start\"", "\"end\"",
+                    "course_id", "lecturer_id")) {
+                int schedule = 0;
+                for (int lecturer = 0; lecturer < properties.lecturers(); lecturer++) {
+                    final int count = scheduleCounts[lecturer];
+                    for (int i = 0; i < count; i++) {
+                        final int stride = slots / count;
+                        final var start = slotStart(i * stride + random.nextInt(stride));
+                        final var end = start.plus(LESSON);
+                        schedules.row(firstScheduleId + schedule, generatedAt, generatedAt, start, end,
+                                firstCourseId + lecturerCourses[lecturer][i], firstLecturerId + lecturer);
+                        scheduleEnds[schedule++] = end;
+                    }
+                }
+            }
+
+            final int studentsPerSchedule = Math.min(properties.studentsPerSchedule(), properties.students());
+            final int[] studentPool = pool(properties.students());
+            try (var enrollments = writer("schedule_students", "schedule_id", "student_id")) {
+                for (int schedule = 0; schedule < properties.schedules(); schedule++) {
+                    for (final int student : sample(studentPool, studentsPerSchedule)) {
+                        enrollments.row(firstScheduleId + schedule, firstStudentId + student);
+                    }
+                }
+            }
+
+            if (properties.schedules() > 0) {
+                try (var assignments = writer("assignment", "id", "created_at", "updated_at", "title",
+                        "description", "due_date", "is_published", "schedule_id")) {
+                    for (int assignment = 0; assignment < properties.assignments(); assignment++) {
+                        final int schedule = random.nextInt(properties.schedules());
+                        final var kind = ASSIGNMENT_KINDS[random.nextInt(ASSIGNMENT_KINDS.length)];
+                        final var dueDate = scheduleEnds[schedule].plus(Duration.ofDays(1 + random.nextInt(28)));
+                        assignments.row(firstAssignmentId + assignment, generatedAt, generatedAt,
+                                kind + " " + (assignment + 1),
+                                "Generated " + kind.toLowerCase() + " for schedule " + (firstScheduleId + schedule) + ".",
+                                dueDate, random.nextInt(4) != 0, firstScheduleId + schedule);
+                    }
+                }
+            }
+
+            moveSequencePast("user_seq", firstUserId + properties.lecturers() + properties.students());
+            moveSequencePast("course_seq", firstCourseId + properties.courses());
+            moveSequencePast("lecturer_seq", firstLecturerId + properties.lecturers());
+            moveSequencePast("student_seq", firstStudentId + properties.students());
+            moveSequencePast("schedule_seq", firstScheduleId + properties.schedules());
+            moveSequencePast("assignment_seq",
+                    firstAssignmentId + (properties.schedules() > 0 ? properties.assignments() : 0));
+        }
+
+        private void writeCourses(long firstCourseId) throws SQLException {
+            try (var courses = writer("course", "id", "created_at", "updated_at", "name", "description", "phase",
+                    "credits")) {
+                for (int course = 0; course < properties.courses(); course++) {
+                    final var topic = TOPICS[course % TOPICS.length];
+                    courses.row(firstCourseId + course, generatedAt, generatedAt, courseName(course),
+                            "Learn the foundations and practice of " + topic.toLowerCase() + ".",
+                            1 + random.nextInt(3), CREDITS[random.nextInt(CREDITS.length)]);
+                }
+            }
+        }
+
+        private Instant slotStart(int slot) {
+            final int week = slot / SLOTS_PER_WEEK;
+            final int day = slot % SLOTS_PER_WEEK / PERIODS.length;
+            return firstMonday.plusWeeks(week)
+                    .plusDays(day)
+                    .atTime(PERIODS[slot % PERIODS.length])
+                    .atZone(ZONE)
+                    .toInstant();
+        }
+
+        /**
+         * Draws {@code count} distinct elements from the pool by shuffling
+         * its head, so a draw costs {@code count} steps however large the
+         * pool is.
+         */
+        private int[] sample(int[] pool, int count) {
+            for (int i = 0; i < count; i++) {
+                final int j = i + random.nextInt(pool.length - i);
+                final int element = pool[j];
+                pool[j] = pool[i];
+                pool[i] = element;
+            }
+            final var sample = new int[count];
+            System.arraycopy(pool, 0, sample, 0, count);
+            return sample;
+        }
+
+        /**
+         * Returns an id no one can have been given: taking a value from the
+         * sequence closes every range Hibernate reserved before, and the
+         * table may hold restored rows with ids the sequence has passed.
+         * Nothing else must insert into the table until
+         * {@link #moveSequencePast} has run.
+         */
+        private long firstFreeId(String table, String sequence) {
+            final Long next = jdbcTemplate.queryForObject(
+                    postgres ? "SELECT nextval('" + sequence + "')" : "SELECT NEXT VALUE FOR " + sequence, Long.class);
+            final Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            return Math.max(next + 1, max == null ? 1 : max + 1);
+        }
+
+        /**
+         * Makes sure the next range Hibernate reserves starts at or after
+         * {@code next}, the first id not generated.
+         */
+        private void moveSequencePast(String sequence, long next) {
+            final long value = next + ID_ALLOCATION_SIZE;
+            if (postgres) {
+                jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class, sequence, value);
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + value);
+            }
+        }
+
+        private BulkWriter writer(String table, String... columns) throws SQLException {
+            return BulkWriter.open(connection, table, List.of(columns), properties.batchSize());
+        }
+    }
+
+    private static String courseName(int course) {
+        return TOPICS[course % TOPICS.length] + " " + (course / TOPICS.length + 1);
+    }
+
+    private static int[] pool(int size) {
+        final var pool = new int[size];
+        for (int i = 0; i < size; i++) {
+            pool[i] = i;
+        }
+        return pool;
+    }
+
+    private static int maxScheduleCount(int[] scheduleCounts) {
+        int max = 0;
+        for (final int count : scheduleCounts) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+}
@@ -1,16 +1,42 @@
 package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.*;
-import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
-
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the contents of the database with the seed data. Nothing calls
+ * this at startup: the {@code seed} profile runs it in the background once
+ * the application is ready, and {@code /test-utils/reset-database} runs it on
+ * demand.
+ * <p>
+ * The seeded rows are captured in a {@link DatabaseSnapshot}, so later resets
+ * only need to restore them.
+ */
 @Component
 public class DbInitializer {
+    private static final List<String> SEED_PASSWORDS = List.of(
+            "admin123", "password123", "johanp123", "elkes123", "greetjej123",
+            "peterp123", "bruceb123", "sallys123", "michaelm123", "lindal123");
+
+    private static final List<String> STEPS = List.of(
+            "clear", "passwords", "courses", "users", "schedules", "assignments");
+    private static final String DATASET_STEP = "dataset";
+
     private final PasswordEncoder passwordEncoder;
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
@@ -18,6 +44,9 @@ public class DbInitializer {
     private final StudentRepository studentRepository;
     private final ScheduleRepository scheduleRepository;
     private final AssignmentRepository assignmentRepository;
+    private final DatabaseSnapshot databaseSnapshot;
+    private final ObjectProvider<DatasetGenerator> datasetGenerator;
+    private Map<String, String> passwordHashes;
 
     public DbInitializer(PasswordEncoder passwordEncoder,
             CourseRepository courseRepository,
@@ -25,7 +54,9 @@ public class DbInitializer {
             LecturerRepository lecturerRepository,
             StudentRepository studentRepository,
             ScheduleRepository scheduleRepository,
-            AssignmentRepository assignmentRepository) {
+            AssignmentRepository assignmentRepository,
+            DatabaseSnapshot databaseSnapshot,
+            ObjectProvider<DatasetGenerator> datasetGenerator) {
         this.passwordEncoder = passwordEncoder;
         this.courseRepository = courseRepository;
         this.userRepository = userRepository;
@@ -33,21 +64,66 @@ public class DbInitializer {
         this.studentRepository = studentRepository;
         this.scheduleRepository = scheduleRepository;
         this.assignmentRepository = assignmentRepository;
+        this.databaseSnapshot = databaseSnapshot;
+        this.datasetGenerator = datasetGenerator;
     }
 
     public void clearAll() {
-        scheduleRepository.deleteAll();
-        courseRepository.deleteAll();
-        lecturerRepository.deleteAll();
-        studentRepository.deleteAll();
-        userRepository.deleteAll();
+        databaseSnapshot.clear();
+    }
+
+    /**
+     * Puts the database back into its seeded state: from the snapshot if
+     * there is one, otherwise by seeding it.
+     */
+    public synchronized void reset() {
+        if (!databaseSnapshot.isCaptured()) {
+            init();
+            return;
+        }
+        databaseSnapshot.restore();
+        // Regenerated rather than kept in memory; the same seed gives the same rows
+        datasetGenerator.ifAvailable(DatasetGenerator::generate);
+    }
+
+    /**
+     * The steps {@link #init(Consumer)} reports, in order.
+     */
+    public List<String> getSteps() {
+        if (datasetGenerator.getIfAvailable() == null) {
+            return STEPS;
+        }
+        return Stream.concat(STEPS.stream(), Stream.of(DATASET_STEP)).toList();
+    }
+
+    /**
+     * Seeds the database unless that has happened already, for instance
+     * because a reset came first.
+     */
+    public synchronized void seed(Consumer<String> onStep) {
+        if (!databaseSnapshot.isCaptured()) {
+            init(onStep);
+        }
     }
 
-    @SuppressWarnings("unused")
-    @PostConstruct
     public void init() {
+        init(step -> {
+        });
+    }
+
+    /**
+     * Seeds the database, telling {@code onStep} the name of every step of
+     * {@link #getSteps()} as it starts. Runs one seeding at a time.
+     */
+    @SuppressWarnings("unused")
+    public synchronized void init(Consumer<String> onStep) {
+        onStep.accept("clear");
         clearAll();
 
+        onStep.accept("passwords");
+        final var passwords = passwordHashes();
+
+        onStep.accept("courses");
         final var fullStack = courseRepository.save(new Course(
                 "Full-stack development",
                 "Learn how to build a full stack web application.",
@@ -72,12 +148,13 @@ public class DbInitializer {
                 1,
                 6));
 
+        onStep.accept("users");
         final var admin = userRepository.save(new User(
                 "admin",
                 "admin",
                 "admin",
                 "administration@ucll.be",
-                passwordEncoder.encode("admin123"),
+                passwords.get("admin123"),
                 Role.ADMIN));
 
         // Add users for Cypress testing
@@ -86,7 +163,7 @@ public class DbInitializer {
                 "Professor",
                 "Thompson",
                 "professor.thompson@ucll.be",
-                passwordEncoder.encode("password123"),
+                passwords.get("password123"),
                 Role.LECTURER));
 
         final var professorThompson = lecturerRepository.save(new Lecturer(
@@ -98,7 +175,7 @@ public class DbInitializer {
                 "Alex",
                 "Student",
                 "alex.student@student.ucll.be",
-                passwordEncoder.encode("password123"),
+                passwords.get("password123"),
                 Role.STUDENT));
 
         final var studentAlex = studentRepository.save(new Student(
@@ -112,7 +189,7 @@ public class DbInitializer {
                 "Johan",
                 "Pieck",
                 "johan.pieck@ucll.be",
-                passwordEncoder.encode("johanp123"),
+                passwords.get("johanp123"),
                 Role.LECTURER));
 
         final var lecturerJP = lecturerRepository.save(new Lecturer(
@@ -129,7 +206,7 @@ public class DbInitializer {
                 "Elke",
                 "Steegmans",
                 "elke.steegmans@ucll.be",
-                passwordEncoder.encode("elkes123"),
+                passwords.get("elkes123"),
                 Role.LECTURER));
 
         final var lecturerES = lecturerRepository.save(new Lecturer(
@@ -146,7 +223,7 @@ public class DbInitializer {
                 "Greetje",
                 "Jongen",
                 "greetje.jongen@ucll.be",
-                passwordEncoder.encode("greetjej123"),
+                passwords.get("greetjej123"),
                 Role.LECTURER));
 
         final var lecturerGJ = lecturerRepository.save(new Lecturer(
@@ -168,7 +245,7 @@ public class DbInitializer {
                 "Peter",
                 "Parker",
                 "peter.parker@student.ucll.be",
-                passwordEncoder.encode("peterp123"),
+                passwords.get("peterp123"),
                 Role.STUDENT));
 
         final var student1 = studentRepository.save(new Student(
@@ -182,7 +259,7 @@ public class DbInitializer {
                 "Bruce",
                 "Banner",
                 "bruce.banner@student.ucll.be",
-                passwordEncoder.encode("bruceb123"),
+                passwords.get("bruceb123"),
                 Role.STUDENT));
 
         final var student2 = studentRepository.save(new Student(
@@ -196,7 +273,7 @@ public class DbInitializer {
                 "Sally",
                 "Smith",
                 "sally.smith@student.ucll.be",
-                passwordEncoder.encode("sallys123"),
+                passwords.get("sallys123"),
                 Role.STUDENT));
 
         final var student3 = studentRepository.save(new Student(
@@ -210,7 +287,7 @@ public class DbInitializer {
                 "Michael",
                 "Miller",
                 "michael.miller@student.ucll.be",
-                passwordEncoder.encode("michaelm123"),
+                passwords.get("michaelm123"),
                 Role.STUDENT));
 
         final var student4 = studentRepository.save(new Student(
@@ -224,7 +301,7 @@ public class DbInitializer {
                 "Linda",
                 "Lawson",
                 "linda.lawson@student.ucll.be",
-                passwordEncoder.encode("lindal123"),
+                passwords.get("lindal123"),
                 Role.STUDENT));
 
         final var student5 = studentRepository.save(new Student(
@@ -233,6 +310,7 @@ public class DbInitializer {
 
         // Schedules
 
+        onStep.accept("schedules");
         final var schedule1 = scheduleRepository.save(new Schedule(
                 todayAt(8, 30),
                 todayAt(10, 30),
@@ -265,6 +343,7 @@ public class DbInitializer {
         schedule4.addStudent(student5);
         scheduleRepository.save(schedule4);
 
+        onStep.accept("assignments");
         final var assignment1 = assignmentRepository.save(new Assignment(
                 "Build a REST API",
                 "Create a REST API for a library management system.",
@@ -298,6 +377,44 @@ public class DbInitializer {
         System.out.println(assignment2);
         System.out.println(assignment3);
         System.out.println(assignment4);
+
+        databaseSnapshot.capture();
+
+        // Only when dataset.enabled is set
+        datasetGenerator.ifAvailable(generator -> {
+            onStep.accept(DATASET_STEP);
+            generator.generate();
+        });
+    }
+
+    /**
+     * Hashes the seed passwords the first time they are needed, all at once,
+     * and keeps the hashes for every later reset.
+     */
+    private Map<String, String> passwordHashes() {
+        var hashes = passwordHashes;
+        if (hashes == null) {
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                final Map<String, Future<String>> futures = SEED_PASSWORDS.stream()
+                        .collect(Collectors.toMap(Function.identity(),
+                                password -> executor.submit(() -> passwordEncoder.encode(password))));
+                hashes = futures.entrySet().stream()
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> join(entry.getValue())));
+            }
+            passwordHashes = hashes;
+        }
+        return hashes;
+    }
+
+    private static String join(Future<String> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not hash seed password", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing seed passwords", e);
+        }
     }
 
     /**
@@ -1,7 +1,53 @@
 package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.Lecturer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface LecturerRepository extends JpaRepository<Lecturer, Long> {
+    /**
+     * Served from the query cache until a lecturer, user or course is
+     * written; the lecturers themselves come from the second-level cache.
+     * On a miss their users and courses are joined in, so the list is read in
+     * one statement however many lecturers there are.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "user", "courses" })
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Lecturer> findAll();
+
+    /**
+     * The version of all lecturers as they are serialized, with their user
+     * and courses. A row is counted per course, so adding or removing a
+     * course changes the version too.
+     */
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(lecturer), "
+            + "max(greatest(lecturer.updatedAt, lecturerUser.updatedAt, coalesce(course.updatedAt, lecturer.updatedAt)))) "
+            + "from Lecturer lecturer join lecturer.user lecturerUser left join lecturer.courses course")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    DataVersion findVersion();
+
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(lecturer), "
+            + "max(greatest(lecturer.updatedAt, lecturerUser.updatedAt, coalesce(course.updatedAt, lecturer.updatedAt)))) "
+            + "from Lecturer lecturer join lecturer.user lecturerUser left join lecturer.courses course "
+            + "where lecturer.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    DataVersion findVersionById(long id);
+
+    /**
+     * The lecturer, locked until the end of the transaction. Serializes the
+     * writes that must not give a lecturer two schedules at the same time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select lecturer from Lecturer lecturer where lecturer.id = :id")
+    Optional<Lecturer> findByIdForUpdate(long id);
 }
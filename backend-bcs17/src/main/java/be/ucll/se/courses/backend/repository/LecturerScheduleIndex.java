@@ -0,0 +1,157 @@
+package be.ucll.se.courses.backend.repository;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of the time slots every lecturer is teaching, used to detect
+ * double bookings without scanning the schedule table.
+ * <p>
+ * A lecturer's slots are loaded from the database the first time they are
+ * needed and are then kept up to date by {@link LecturerScheduleIndexListener}
+ * as schedules are committed. A schedule created while its lecturer is locked
+ * is {@link #reserve reserved} before the commit, so the index is complete for
+ * whoever takes the lock next. Writes that bypass JPA must call
+ * {@link #clear()}. Only the writes of this application instance are seen.
+ */
+@Component
+public class LecturerScheduleIndex {
+    private final ScheduleRepository scheduleRepository;
+    private final Map<Long, LecturerTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lecturerBySchedule = new ConcurrentHashMap<>();
+
+    public LecturerScheduleIndex(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    /**
+     * Returns the lecturer's schedules that overlap {@code [start, end)},
+     * ordered by start time.
+     */
+    public List<ScheduleSlot> findOverlapping(long lecturerId, Instant start, Instant end) {
+        // Only the empty timeline is created inside the map; loading it from
+        // the database happens under the timeline's own lock
+        final var timeline = timelines.computeIfAbsent(lecturerId, id -> new LecturerTimeline());
+        timeline.loadIfNeeded(() -> load(lecturerId));
+        return timeline.overlapping(start, end);
+    }
+
+    /**
+     * Adds a slot the current transaction is creating, before it commits. The
+     * caller must hold the lecturer's lock and have looked the lecturer up
+     * with {@link #findOverlapping}. The slot is removed again if the
+     * transaction does not commit.
+     */
+    public void reserve(long lecturerId, ScheduleSlot slot) {
+        put(lecturerId, slot);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    remove(slot.id());
+                }
+            }
+        });
+    }
+
+    void put(long lecturerId, ScheduleSlot slot) {
+        final var previousLecturerId = lecturerBySchedule.get(slot.id());
+        if (previousLecturerId != null && previousLecturerId != lecturerId) {
+            remove(slot.id());
+        }
+        // Lecturers that were never queried are loaded from the database on first use
+        final var timeline = timelines.get(lecturerId);
+        if (timeline != null) {
+            timeline.put(slot);
+            lecturerBySchedule.put(slot.id(), lecturerId);
+        }
+    }
+
+    void remove(long scheduleId) {
+        final var lecturerId = lecturerBySchedule.remove(scheduleId);
+        if (lecturerId != null) {
+            final var timeline = timelines.get(lecturerId);
+            if (timeline != null) {
+                timeline.remove(scheduleId);
+            }
+        }
+    }
+
+    /**
+     * Drops everything, so every lecturer is reloaded from the database on
+     * next use.
+     */
+    public void clear() {
+        timelines.clear();
+        lecturerBySchedule.clear();
+    }
+
+    private List<ScheduleSlot> load(long lecturerId) {
+        final var slots = scheduleRepository.findSlotsByLecturerId(lecturerId);
+        slots.forEach(slot -> lecturerBySchedule.put(slot.id(), lecturerId));
+        return slots;
+    }
+
+    /**
+     * The slots of one lecturer, sorted by start time. Every slot that overlaps
+     * {@code [start, end)} starts after {@code start - longest}, where
+     * {@code longest} is the longest slot ever added, so a lookup only walks
+     * that window instead of the whole timeline.
+     */
+    private static final class LecturerTimeline {
+        private final NavigableSet<ScheduleSlot> byStart = new TreeSet<>(ScheduleSlot.BY_START);
+        private final Map<Long, ScheduleSlot> byId = new HashMap<>();
+        private Duration longest = Duration.ZERO;
+        private boolean loaded;
+
+        /**
+         * Adds the lecturer's slots from the database the first time. Slots
+         * committed meanwhile are put once more, which changes nothing.
+         */
+        synchronized void loadIfNeeded(Supplier<List<ScheduleSlot>> slots) {
+            if (!loaded) {
+                slots.get().forEach(this::put);
+                loaded = true;
+            }
+        }
+
+        synchronized void put(ScheduleSlot slot) {
+            remove(slot.id());
+            byStart.add(slot);
+            byId.put(slot.id(), slot);
+            if (slot.duration().compareTo(longest) > 0) {
+                longest = slot.duration();
+            }
+        }
+
+        synchronized void remove(long scheduleId) {
+            final var slot = byId.remove(scheduleId);
+            if (slot != null) {
+                byStart.remove(slot);
+            }
+        }
+
+        synchronized List<ScheduleSlot> overlapping(Instant start, Instant end) {
+            if (!end.isAfter(start)) {
+                return List.of();
+            }
+            final var earliest = start.minus(longest);
+            final var from = new ScheduleSlot(Long.MIN_VALUE, earliest, earliest);
+            final var to = new ScheduleSlot(Long.MIN_VALUE, end, end);
+            return byStart.subSet(from, true, to, false).stream()
+                    .filter(slot -> slot.overlaps(start, end))
+                    .toList();
+        }
+    }
+}
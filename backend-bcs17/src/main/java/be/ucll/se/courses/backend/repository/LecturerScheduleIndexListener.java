@@ -0,0 +1,54 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.Schedule;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Applies schedule writes to the {@link LecturerScheduleIndex} once they are
+ * committed, so rolled back writes never show up as conflicts.
+ */
+public class LecturerScheduleIndexListener {
+    // Resolved lazily: the index needs the repositories, which need the
+    // entity manager factory that is creating this listener
+    private final ObjectProvider<LecturerScheduleIndex> index;
+
+    public LecturerScheduleIndexListener(ObjectProvider<LecturerScheduleIndex> index) {
+        this.index = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void scheduleSaved(Schedule schedule) {
+        final long lecturerId = schedule.getLecturer().getId();
+        // As the columns keep them, like the slots loaded from the database
+        final var slot = new ScheduleSlot(schedule.getId(), schedule.getStart().truncatedTo(ChronoUnit.MILLIS),
+                schedule.getEnd().truncatedTo(ChronoUnit.MILLIS));
+        afterCommit(() -> index.getObject().put(lecturerId, slot));
+    }
+
+    @PostRemove
+    public void scheduleRemoved(Schedule schedule) {
+        final long scheduleId = schedule.getId();
+        afterCommit(() -> index.getObject().remove(scheduleId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+
+import java.time.Instant;
+
+/**
+ * A submission that has been acknowledged to the student but not yet written
+ * to the submission table.
+ */
+public record PendingSubmission(long assignmentId,
+                                long studentId,
+                                String content,
+                                SubmissionStatus status,
+                                Instant submittedAt) {
+}
@@ -0,0 +1,15 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.util.Collection;
+
+/**
+ * Writes to the {@code schedule_students} join table without loading the
+ * schedule's student list.
+ */
+public interface ScheduleEnrollmentRepository {
+    /**
+     * Inserts one join row per student in a single JDBC batch. The caller is
+     * responsible for filtering out students that are already enrolled.
+     */
+    void insertEnrollments(long scheduleId, Collection<Long> studentIds);
+}
@@ -0,0 +1,46 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.Schedule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+class ScheduleEnrollmentRepositoryImpl implements ScheduleEnrollmentRepository {
+    private static final String INSERT_ENROLLMENT =
+            "INSERT INTO schedule_students (schedule_id, student_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    ScheduleEnrollmentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertEnrollments(long scheduleId, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        // Make sure rows created earlier in this transaction exist before we reference them
+        entityManager.flush();
+
+        final var batchArgs = new ArrayList<Object[]>(studentIds.size());
+        for (final var studentId : studentIds) {
+            batchArgs.add(new Object[] { scheduleId, studentId });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, batchArgs);
+
+        // The rows were written behind Hibernate's back, so a schedule that is
+        // already loaded in this persistence context still has the old student list
+        final var schedule = entityManager.getReference(Schedule.class, scheduleId);
+        if (Hibernate.isInitialized(schedule)) {
+            entityManager.refresh(schedule);
+        }
+    }
+}
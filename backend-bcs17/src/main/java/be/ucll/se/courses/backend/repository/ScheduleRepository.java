@@ -1,11 +1,120 @@
 package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.Schedule;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+public interface ScheduleRepository extends JpaRepository<Schedule, Long>, JpaSpecificationExecutor<Schedule>,
+        ScheduleEnrollmentRepository {
+    /**
+     * The to-one associations a schedule response serializes. They are joined
+     * into the schedule query itself; the {@code students} and
+     * {@code lecturer.courses} collections are batch fetched instead (see
+     * {@code hibernate.default_batch_fetch_size}), so a page of schedules is
+     * read in a fixed number of statements.
+     */
+    List<String> READ_GRAPH = List.of("course", "lecturer", "lecturer.user");
+
+    @EntityGraph(attributePaths = { "course", "lecturer", "lecturer.user" })
     List<Schedule> findByLecturer_User_Username(String username);
+
     boolean existsByCourse_IdAndLecturer_Id(Long courseId, Long lecturerId);
+
+    @Query("select new be.ucll.se.courses.backend.repository.ScheduleSlot(schedule.id, schedule.start, schedule.end) "
+            + "from Schedule schedule where schedule.lecturer.id = :lecturerId")
+    List<ScheduleSlot> findSlotsByLecturerId(long lecturerId);
+
+    @Query("select new be.ucll.se.courses.backend.repository.ScheduleSlot(schedule.id, schedule.start, schedule.end) "
+            + "from Schedule schedule where schedule.lecturer.id = :lecturerId "
+            + "and schedule.start < :end and schedule.end > :start order by schedule.start")
+    List<ScheduleSlot> findOverlappingSlots(long lecturerId, Instant start, Instant end);
+
+    /**
+     * Reads the schedule's slot and locks its row until the transaction ends,
+     * for enrollments that must not insert the same student twice.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new be.ucll.se.courses.backend.repository.ScheduleSlot(schedule.id, schedule.start, schedule.end) "
+            + "from Schedule schedule where schedule.id = :scheduleId")
+    Optional<ScheduleSlot> findSlotByIdForUpdate(long scheduleId);
+
+    /**
+     * Finds, in one query, the schedules other than {@code excludedScheduleId}
+     * that any of the given students is enrolled in and that overlap
+     * {@code [start, end)}. The lookup goes through
+     * {@code schedule_students_student_id_index}.
+     */
+    @Query("select new be.ucll.se.courses.backend.repository.StudentScheduleSlot("
+            + "student.id, schedule.id, schedule.start, schedule.end) "
+            + "from Schedule schedule join schedule.students student "
+            + "where student.id in :studentIds and schedule.id <> :excludedScheduleId "
+            + "and schedule.start < :end and schedule.end > :start "
+            + "order by student.id, schedule.start")
+    List<StudentScheduleSlot> findOverlappingEnrollments(Collection<Long> studentIds, long excludedScheduleId,
+            Instant start, Instant end);
+
+    @Query("select lecturerUser.username from Schedule schedule join schedule.lecturer lecturer "
+            + "join lecturer.user lecturerUser where schedule.id = :scheduleId")
+    Optional<String> findLecturerUsername(long scheduleId);
+
+    /**
+     * Marks the schedule as updated. Enrollments are written to the join
+     * table directly, so Hibernate does not do this for them.
+     */
+    @Modifying
+    @Query("update Schedule schedule set schedule.updatedAt = :updatedAt where schedule.id = :scheduleId")
+    int touch(long scheduleId, Instant updatedAt);
+
+    @Query("select student.id from Schedule schedule join schedule.students student "
+            + "where schedule.id = :scheduleId and student.id in :studentIds")
+    List<Long> findEnrolledStudentIds(long scheduleId, Collection<Long> studentIds);
+
+    @Query("select new be.ucll.se.courses.backend.repository.CalendarEvent(schedule.id, schedule.start, schedule.end, "
+            + "greatest(schedule.updatedAt, course.updatedAt, lecturerUser.updatedAt), "
+            + "course.name, course.description, lecturerUser.firstName, lecturerUser.lastName) "
+            + "from Schedule schedule join schedule.course course join schedule.lecturer lecturer "
+            + "join lecturer.user lecturerUser "
+            + "where lecturerUser.username = :username order by schedule.start")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<CalendarEvent> streamCalendarForLecturer(String username);
+
+    /**
+     * The version of a lecturer's calendar. Events show the course and the
+     * lecturer's name, so their changes count as well.
+     */
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(schedule), "
+            + "max(greatest(schedule.updatedAt, course.updatedAt, lecturerUser.updatedAt))) "
+            + "from Schedule schedule join schedule.course course join schedule.lecturer lecturer "
+            + "join lecturer.user lecturerUser where lecturerUser.username = :username")
+    DataVersion findCalendarVersionForLecturer(String username);
+
+    @Query("select new be.ucll.se.courses.backend.repository.CalendarEvent(schedule.id, schedule.start, schedule.end, "
+            + "greatest(schedule.updatedAt, course.updatedAt, lecturerUser.updatedAt), "
+            + "course.name, course.description, lecturerUser.firstName, lecturerUser.lastName) "
+            + "from Schedule schedule join schedule.course course join schedule.lecturer lecturer "
+            + "join lecturer.user lecturerUser join schedule.students student "
+            + "where student.user.username = :username order by schedule.start")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<CalendarEvent> streamCalendarForStudent(String username);
+
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(schedule), "
+            + "max(greatest(schedule.updatedAt, course.updatedAt, lecturerUser.updatedAt))) "
+            + "from Schedule schedule join schedule.course course join schedule.lecturer lecturer "
+            + "join lecturer.user lecturerUser join schedule.students student "
+            + "where student.user.username = :username")
+    DataVersion findCalendarVersionForStudent(String username);
 }
@@ -0,0 +1,22 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * The time a schedule occupies, without any of its associations.
+ */
+public record ScheduleSlot(Long id, Instant start, Instant end) {
+    static final Comparator<ScheduleSlot> BY_START = Comparator.comparing(ScheduleSlot::start)
+            .thenComparing(ScheduleSlot::id);
+
+    Duration duration() {
+        final var duration = Duration.between(start, end);
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    public boolean overlaps(Instant otherStart, Instant otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,81 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.Schedule;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * Composable filters for {@link ScheduleRepository}. Each factory returns
+ * {@code null} when its argument is {@code null}, so they can be chained with
+ * {@link Specification#and(Specification)} without extra checks.
+ */
+public final class ScheduleSpecifications {
+    /**
+     * The order keyset pagination relies on: {@code id} breaks ties between
+     * schedules that start at the same time.
+     */
+    public static final Sort KEYSET_ORDER = Sort.by("start", "id");
+
+    private ScheduleSpecifications() {
+    }
+
+    public static Specification<Schedule> hasCourse(Long courseId) {
+        if (courseId == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("course").get("id"), courseId);
+    }
+
+    public static Specification<Schedule> hasLecturer(Long lecturerId) {
+        if (lecturerId == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("lecturer").get("id"), lecturerId);
+    }
+
+    public static Specification<Schedule> hasLecturerUsername(String username) {
+        if (username == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(
+                root.get("lecturer").get("user").get("username"), username);
+    }
+
+    public static Specification<Schedule> inPhase(Integer phase) {
+        if (phase == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.equal(root.get("course").get("phase"), phase);
+    }
+
+    public static Specification<Schedule> startsFrom(Instant from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.greaterThanOrEqualTo(root.<Instant>get("start"), from);
+    }
+
+    public static Specification<Schedule> startsBefore(Instant to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.lessThan(root.<Instant>get("start"), to);
+    }
+
+    /**
+     * Matches the schedules that come after {@code (start, id)} in
+     * {@link #KEYSET_ORDER}.
+     */
+    public static Specification<Schedule> after(Instant start, Long id) {
+        if (start == null || id == null) {
+            return null;
+        }
+        return (root, query, builder) -> builder.or(
+                builder.greaterThan(root.<Instant>get("start"), start),
+                builder.and(
+                        builder.equal(root.get("start"), start),
+                        builder.greaterThan(root.<Long>get("id"), id)));
+    }
+}
@@ -1,13 +1,33 @@
 package be.ucll.se.courses.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import be.ucll.se.courses.backend.model.Student;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    /**
+     * With the users joined in, rather than loaded in batches after the
+     * students.
+     */
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Student> findAll();
+
     Optional<Student> findByUser_Email(String email);
+
+    @Query("select student.id from Student student where student.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select new be.ucll.se.courses.backend.repository.DataVersion(count(student), "
+            + "max(greatest(student.updatedAt, studentUser.updatedAt))) "
+            + "from Student student join student.user studentUser")
+    DataVersion findVersion();
 }
@@ -0,0 +1,9 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.time.Instant;
+
+/**
+ * A schedule a student is enrolled in, reduced to the time it occupies.
+ */
+public record StudentScheduleSlot(Long studentId, Long scheduleId, Instant start, Instant end) {
+}
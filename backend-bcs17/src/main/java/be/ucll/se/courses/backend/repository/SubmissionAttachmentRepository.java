@@ -0,0 +1,19 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.SubmissionAttachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SubmissionAttachmentRepository extends JpaRepository<SubmissionAttachment, Long> {
+    List<SubmissionAttachment> findByAssignment_IdOrderByUploadedAt(Long assignmentId);
+
+    List<SubmissionAttachment> findByAssignment_IdAndStudent_User_UsernameOrderByUploadedAt(Long assignmentId,
+            String username);
+
+    Optional<SubmissionAttachment> findByIdAndAssignment_Id(Long id, Long assignmentId);
+
+    Optional<SubmissionAttachment> findByIdAndAssignment_IdAndStudent_User_Username(Long id, Long assignmentId,
+            String username);
+}
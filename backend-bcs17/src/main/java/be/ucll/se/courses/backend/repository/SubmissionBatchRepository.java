@@ -0,0 +1,18 @@
+package be.ucll.se.courses.backend.repository;
+
+import java.util.List;
+
+/**
+ * Writes queued submissions to the {@code submission} table in JDBC batches.
+ */
+public interface SubmissionBatchRepository {
+    /**
+     * Writes the submissions, in order, with the same rules as a single
+     * submission: a new submission is inserted, an existing draft is
+     * overwritten and anything else is skipped. Writing the same submissions
+     * twice has no further effect, so a batch can safely be replayed.
+     *
+     * @return the number of submissions that were written
+     */
+    int writeSubmissions(List<PendingSubmission> submissions);
+}
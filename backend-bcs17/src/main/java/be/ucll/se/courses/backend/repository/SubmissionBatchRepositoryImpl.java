@@ -0,0 +1,107 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class SubmissionBatchRepositoryImpl implements SubmissionBatchRepository {
+    private static final String SELECT_EXISTING =
+            "SELECT assignment_id, student_id, status FROM submission "
+                    + "WHERE assignment_id IN (:assignmentIds) AND student_id IN (:studentIds)";
+    private static final String INSERT_SUBMISSION =
+            "INSERT INTO submission (assignment_id, student_id, content, status, submitted_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_DRAFT =
+            "UPDATE submission SET content = ?, status = ?, submitted_at = ?, last_edited_at = ? "
+                    + "WHERE assignment_id = ? AND student_id = ? AND status = 'DRAFT'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    SubmissionBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public int writeSubmissions(List<PendingSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return 0;
+        }
+        final var statuses = findExistingStatuses(submissions);
+
+        // Collapse the batch to one insert or update per student, applying the
+        // same rules a single submission follows
+        final var inserts = new LinkedHashMap<Key, PendingSubmission>();
+        final var updates = new LinkedHashMap<Key, PendingSubmission>();
+        int written = 0;
+        for (final var submission : submissions) {
+            final var key = new Key(submission.assignmentId(), submission.studentId());
+            final var status = statuses.get(key);
+            if (status == null) {
+                inserts.put(key, submission);
+            } else if (status == SubmissionStatus.DRAFT) {
+                if (inserts.containsKey(key)) {
+                    inserts.put(key, submission);
+                } else {
+                    updates.put(key, submission);
+                }
+            } else {
+                continue;
+            }
+            statuses.put(key, submission.status());
+            written++;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SUBMISSION, inserts.values().stream()
+                .map(submission -> new Object[] {
+                        submission.assignmentId(),
+                        submission.studentId(),
+                        submission.content(),
+                        submission.status().name(),
+                        Timestamp.from(submission.submittedAt()) })
+                .toList());
+        jdbcTemplate.batchUpdate(UPDATE_DRAFT, updates.values().stream()
+                .map(submission -> new Object[] {
+                        submission.content(),
+                        submission.status().name(),
+                        Timestamp.from(submission.submittedAt()),
+                        Timestamp.from(submission.submittedAt()),
+                        submission.assignmentId(),
+                        submission.studentId() })
+                .toList());
+        return written;
+    }
+
+    private Map<Key, SubmissionStatus> findExistingStatuses(List<PendingSubmission> submissions) {
+        final var assignmentIds = new HashSet<Long>();
+        final var studentIds = new HashSet<Long>();
+        for (final var submission : submissions) {
+            assignmentIds.add(submission.assignmentId());
+            studentIds.add(submission.studentId());
+        }
+        final var parameters = new MapSqlParameterSource()
+                .addValue("assignmentIds", assignmentIds)
+                .addValue("studentIds", studentIds);
+
+        // Usually the whole batch is for one assignment, so this hardly reads
+        // more rows than the batch contains
+        final var statuses = new HashMap<Key, SubmissionStatus>();
+        namedParameterJdbcTemplate.query(SELECT_EXISTING, parameters, resultSet -> {
+            statuses.put(
+                    new Key(resultSet.getLong("assignment_id"), resultSet.getLong("student_id")),
+                    SubmissionStatus.valueOf(resultSet.getString("status")));
+        });
+        return statuses;
+    }
+
+    private record Key(long assignmentId, long studentId) {
+    }
+}
@@ -0,0 +1,49 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.Submission;
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface SubmissionRepository extends JpaRepository<Submission, Long>, SubmissionBatchRepository {
+    List<Submission> findByAssignment_Id(Long assignmentId);
+
+    Optional<Submission> findByAssignment_IdAndStudent_Id(Long assignmentId, Long studentId);
+
+    List<Submission> findByAssignment_IdAndStudent_User_Username(Long assignmentId, String username);
+
+    /**
+     * Resolves the submitting student, the assignment's due date and the
+     * student's existing submission in one round trip. Empty when either the
+     * student or the assignment does not exist, or when the student is not
+     * enrolled in the assignment's schedule.
+     */
+    @Query("select new be.ucll.se.courses.backend.repository.SubmissionTarget("
+            + "student.id, assignment.dueDate, submission.status) "
+            + "from Assignment assignment join assignment.schedule schedule join schedule.students student "
+            + "left join Submission submission "
+            + "on submission.assignment = assignment and submission.student = student "
+            + "where student.user.username = :username and assignment.id = :assignmentId")
+    Optional<SubmissionTarget> findTarget(long assignmentId, String username);
+
+    /**
+     * Overwrites the student's submission for the assignment, but only while
+     * it is still a draft.
+     *
+     * @return the number of updated submissions, 0 or 1
+     */
+    @Modifying
+    @Transactional
+    @Query("update Submission submission "
+            + "set submission.content = :content, submission.status = :status, "
+            + "submission.submittedAt = :editedAt, submission.lastEditedAt = :editedAt "
+            + "where submission.assignment.id = :assignmentId and submission.student.id = :studentId "
+            + "and submission.status = be.ucll.se.courses.backend.model.SubmissionStatus.DRAFT")
+    int updateDraft(long assignmentId, long studentId, String content, SubmissionStatus status, Instant editedAt);
+}
@@ -0,0 +1,13 @@
+package be.ucll.se.courses.backend.repository;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+
+import java.time.Instant;
+
+/**
+ * What the submission write path needs to know before inserting: which
+ * student is submitting, when the assignment is due and the status of the
+ * student's existing submission, if there is one.
+ */
+public record SubmissionTarget(Long studentId, Instant dueDate, SubmissionStatus existingStatus) {
+}
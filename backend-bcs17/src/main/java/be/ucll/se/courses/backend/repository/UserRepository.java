@@ -2,6 +2,9 @@ package be.ucll.se.courses.backend.repository;
 
 import be.ucll.se.courses.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.List;
@@ -11,4 +14,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("update User target set target.password = :password where target.username = :username")
+    int updatePassword(String username, String password);
 }
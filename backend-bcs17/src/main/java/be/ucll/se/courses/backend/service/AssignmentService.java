@@ -3,6 +3,7 @@ package be.ucll.se.courses.backend.service;
 import be.ucll.se.courses.backend.exception.NotFoundException;
 import be.ucll.se.courses.backend.model.Assignment;
 import be.ucll.se.courses.backend.repository.AssignmentRepository;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -10,13 +11,19 @@ import java.util.List;
 @Service
 public class AssignmentService {
     private final AssignmentRepository assignmentRepository;
+    private final ChangeFeed changeFeed;
 
-    public AssignmentService(AssignmentRepository assignmentRepository) {
+    public AssignmentService(AssignmentRepository assignmentRepository, ChangeFeed changeFeed) {
         this.assignmentRepository = assignmentRepository;
+        this.changeFeed = changeFeed;
     }
 
     public Assignment createAssignment(Assignment assignment) {
-        return assignmentRepository.save(assignment);
+        final var saved = assignmentRepository.save(assignment);
+        if (saved.isPublished()) {
+            changeFeed.assignmentChanged(saved, false);
+        }
+        return saved;
     }
 
     public Assignment getAssignmentById(Long id) {
@@ -30,11 +37,14 @@ public class AssignmentService {
 
     public Assignment updateAssignment(Long id, Assignment updatedAssignment) {
         Assignment existingAssignment = getAssignmentById(id);
+        final boolean wasPublished = existingAssignment.isPublished();
         existingAssignment.setTitle(updatedAssignment.getTitle());
         existingAssignment.setDescription(updatedAssignment.getDescription());
         existingAssignment.setDueDate(updatedAssignment.getDueDate());
         existingAssignment.setPublished(updatedAssignment.isPublished());
-        return assignmentRepository.save(existingAssignment);
+        final var saved = assignmentRepository.save(existingAssignment);
+        changeFeed.assignmentChanged(saved, wasPublished);
+        return saved;
     }
 
     public void deleteAssignment(Long id) {
@@ -44,6 +54,10 @@ public class AssignmentService {
         assignmentRepository.deleteById(id);
     }
 
+    public DataVersion getVersion(List<Assignment> assignments) {
+        return EntityVersions.ofAssignments(assignments);
+    }
+
     public List<Assignment> getAllAssignments() {
         return assignmentRepository.findAll();
     }
@@ -0,0 +1,131 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.SubmissionAttachment;
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import be.ucll.se.courses.backend.repository.AssignmentRepository;
+import be.ucll.se.courses.backend.repository.StudentRepository;
+import be.ucll.se.courses.backend.repository.SubmissionAttachmentRepository;
+import be.ucll.se.courses.backend.repository.SubmissionRepository;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class AttachmentService {
+    private final SubmissionAttachmentRepository attachmentRepository;
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StudentRepository studentRepository;
+    private final AttachmentStore attachmentStore;
+
+    public AttachmentService(SubmissionAttachmentRepository attachmentRepository,
+                             SubmissionRepository submissionRepository,
+                             AssignmentRepository assignmentRepository,
+                             StudentRepository studentRepository,
+                             AttachmentStore attachmentStore) {
+        this.attachmentRepository = attachmentRepository;
+        this.submissionRepository = submissionRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.studentRepository = studentRepository;
+        this.attachmentStore = attachmentStore;
+    }
+
+    /**
+     * Stores a file the student attaches to their submission for the
+     * assignment. Attachments can be added until the submission is handed in.
+     */
+    public SubmissionAttachment upload(long assignmentId, String username, String fileName, String contentType,
+                                       InputStream content) throws IOException {
+        final var name = baseName(fileName);
+        if (name.isBlank()) {
+            throw new CoursesException("Attachment file name is required");
+        }
+        final var target = submissionRepository.findTarget(assignmentId, username)
+                .orElseThrow(() -> missingTarget(assignmentId));
+        if (target.existingStatus() != null && target.existingStatus() != SubmissionStatus.DRAFT) {
+            throw new CoursesException("Assignment with id " + assignmentId + " has already been submitted");
+        }
+
+        final var storedFile = attachmentStore.store(content);
+        return attachmentRepository.save(new SubmissionAttachment(
+                assignmentRepository.getReferenceById(assignmentId),
+                studentRepository.getReferenceById(target.studentId()),
+                storedFile.sha256(),
+                name,
+                contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType,
+                storedFile.size(),
+                Instant.now()));
+    }
+
+    /**
+     * Students only see their own attachments. Admins and the lecturer of the
+     * assignment's schedule see those of every student.
+     */
+    public List<SubmissionAttachment> getAttachments(long assignmentId, Authentication authentication) {
+        if (seesAllAttachments(assignmentId, authentication)) {
+            return attachmentRepository.findByAssignment_IdOrderByUploadedAt(assignmentId);
+        }
+        return attachmentRepository.findByAssignment_IdAndStudent_User_UsernameOrderByUploadedAt(
+                assignmentId, authentication.getName());
+    }
+
+    public SubmissionAttachment getAttachment(long assignmentId, long attachmentId, Authentication authentication) {
+        final var attachment = seesAllAttachments(assignmentId, authentication)
+                ? attachmentRepository.findByIdAndAssignment_Id(attachmentId, assignmentId)
+                : attachmentRepository.findByIdAndAssignment_IdAndStudent_User_Username(
+                        attachmentId, assignmentId, authentication.getName());
+        return attachment.orElseThrow(() -> new NotFoundException(
+                "Attachment with id " + attachmentId + " not found for assignment with id " + assignmentId));
+    }
+
+    public Path getFile(SubmissionAttachment attachment) {
+        return attachmentStore.resolve(attachment.getSha256());
+    }
+
+    /**
+     * Whether the user sees the attachments of every student, rather than
+     * only their own, following the same rules as the submissions.
+     */
+    private boolean seesAllAttachments(long assignmentId, Authentication authentication) {
+        final var lecturerUsername = assignmentRepository.findLecturerUsername(assignmentId).orElseThrow(
+                () -> new NotFoundException("Assignment with id " + assignmentId + " not found"));
+        final var authorities = authentication.getAuthorities();
+        if (authorities.contains(Role.ADMIN.toGrantedAuthority())) {
+            return true;
+        } else if (authorities.contains(Role.LECTURER.toGrantedAuthority())) {
+            if (!lecturerUsername.equals(authentication.getName())) {
+                throw new AccessDeniedException("Only the lecturer of the assignment can view its attachments");
+            }
+            return true;
+        } else if (authorities.contains(Role.STUDENT.toGrantedAuthority())) {
+            return false;
+        } else {
+            throw new AccessDeniedException("You do not have permission to access this resource");
+        }
+    }
+
+    private static String baseName(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        // Browsers on Windows may send the full path
+        return fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).strip();
+    }
+
+    private RuntimeException missingTarget(long assignmentId) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            return new NotFoundException("Assignment with id " + assignmentId + " not found");
+        }
+        return new AccessDeniedException("Only students enrolled in the schedule can upload attachments");
+    }
+}
@@ -0,0 +1,98 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.exception.CoursesException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store on local disk. Every file is stored once under
+ * its SHA-256 digest, in a directory named after the first two hex digits, so
+ * uploading the same file twice takes no extra space.
+ */
+public class AttachmentStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory;
+    private final Path uploadDirectory;
+    private final long maxSize;
+
+    public AttachmentStore(Path directory, long maxSize) {
+        this.directory = directory;
+        this.uploadDirectory = directory.resolve("uploads");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Streams the input to disk, hashing it on the way, so only one small
+     * buffer is ever held in memory. The file is written to a temporary file
+     * first and moved into place once its digest is known.
+     */
+    public StoredFile store(InputStream input) throws IOException {
+        Files.createDirectories(uploadDirectory);
+        final var upload = Files.createTempFile(uploadDirectory, "upload", ".part");
+        try {
+            final var digest = sha256();
+            final var buffer = new byte[BUFFER_SIZE];
+            long size = 0;
+            try (var channel = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new CoursesException("Attachments can be at most " + maxSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    final var chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        channel.write(chunk);
+                    }
+                }
+                channel.force(true);
+            }
+
+            final var sha256 = HexFormat.of().formatHex(digest.digest());
+            final var file = resolve(sha256);
+            if (!Files.exists(file)) {
+                Files.createDirectories(file.getParent());
+                // If a parallel upload of the same content wins, it is replaced by identical bytes
+                Files.move(upload, file, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredFile(sha256, size);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * The location of the file with the given digest.
+     */
+    public Path resolve(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 digest: " + sha256);
+        }
+        return directory.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    public record StoredFile(String sha256, long size) {
+    }
+}
@@ -0,0 +1,134 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.config.ChangeFeedProperties;
+import be.ucll.se.courses.backend.controller.dto.ChangeEvent;
+import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.model.Assignment;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.Schedule;
+import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Pushes committed changes to schedules and assignments to the clients of
+ * {@code GET /events}.
+ * <p>
+ * Publishing never waits for a client: an event is handed to every
+ * subscriber's own bounded buffer and written out by the MVC task executor.
+ * An idle client only costs an open connection and a heartbeat now and then,
+ * not a thread.
+ */
+public class ChangeFeed {
+    private final ScheduleRepository scheduleRepository;
+    private final ChangeFeedProperties properties;
+    private final Sinks.Many<Change> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ChangeFeed(ScheduleRepository scheduleRepository, ChangeFeedProperties properties) {
+        this.scheduleRepository = scheduleRepository;
+        this.properties = properties;
+    }
+
+    public void scheduleCreated(Schedule schedule) {
+        publish(ChangeEvent.Type.SCHEDULE_CREATED, schedule.getId(), null, null, true);
+    }
+
+    public void studentsEnrolled(long scheduleId, List<Long> studentIds) {
+        publish(ChangeEvent.Type.STUDENTS_ENROLLED, scheduleId, null, List.copyOf(studentIds), true);
+    }
+
+    /**
+     * @param wasPublished whether students could see the assignment before
+     *                     this change; they are also told when it is
+     *                     unpublished
+     */
+    public void assignmentChanged(Assignment assignment, boolean wasPublished) {
+        final var type = assignment.isPublished() && !wasPublished
+                ? ChangeEvent.Type.ASSIGNMENT_PUBLISHED
+                : ChangeEvent.Type.ASSIGNMENT_UPDATED;
+        publish(type, assignment.getSchedule().getId(), assignment.getId(), null,
+                assignment.isPublished() || wasPublished);
+    }
+
+    /**
+     * The changes the authenticated user can see, as they are committed.
+     * Admins and students see all schedules, lecturers only their own, the
+     * same as {@code GET /schedules}; students do not see unpublished
+     * assignments.
+     */
+    public Flux<ServerSentEvent<ChangeEvent>> subscribe(Authentication authentication) {
+        final var visible = visibleTo(authentication);
+        final var changes = sink.asFlux()
+                .filter(visible)
+                .onBackpressureBuffer(properties.bufferSize(), dropped -> { }, BufferOverflowStrategy.DROP_OLDEST)
+                .map(change -> ServerSentEvent.builder(change.event())
+                        .id(String.valueOf(change.event().id()))
+                        .event(change.event().type().eventName())
+                        .build());
+        final var heartbeats = Flux.interval(properties.heartbeat())
+                .map(tick -> ServerSentEvent.<ChangeEvent>builder().comment("heartbeat").build());
+        return Flux.merge(changes, heartbeats)
+                .startWith(ServerSentEvent.<ChangeEvent>builder().comment("connected").build())
+                .take(properties.reconnectAfter());
+    }
+
+    public int getSubscribers() {
+        return sink.currentSubscriberCount();
+    }
+
+    private void publish(ChangeEvent.Type type, long scheduleId, Long assignmentId, List<Long> studentIds,
+            boolean visibleToStudents) {
+        final var lecturerUsername = scheduleRepository.findLecturerUsername(scheduleId).orElseThrow(
+                () -> new NotFoundException("Schedule with id " + scheduleId + " not found"));
+        afterCommit(() -> {
+            final var event = new ChangeEvent(sequence.incrementAndGet(), type, scheduleId, assignmentId,
+                    studentIds, Instant.now());
+            // Emissions must not overlap; subscribers only buffer, so this is short
+            synchronized (sink) {
+                sink.tryEmitNext(new Change(event, lecturerUsername, visibleToStudents));
+            }
+        });
+    }
+
+    private static Predicate<Change> visibleTo(Authentication authentication) {
+        final var authorities = authentication.getAuthorities();
+        if (authorities.contains(Role.ADMIN.toGrantedAuthority())) {
+            return change -> true;
+        } else if (authorities.contains(Role.LECTURER.toGrantedAuthority())) {
+            final var username = authentication.getName();
+            return change -> change.lecturerUsername().equals(username);
+        } else if (authorities.contains(Role.STUDENT.toGrantedAuthority())) {
+            return Change::visibleToStudents;
+        } else {
+            throw new AccessDeniedException("You do not have permission to access this resource");
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Change(ChangeEvent event, String lecturerUsername, boolean visibleToStudents) {
+    }
+}
@@ -3,6 +3,7 @@ package be.ucll.se.courses.backend.service;
 import be.ucll.se.courses.backend.exception.NotFoundException;
 import be.ucll.se.courses.backend.model.Course;
 import be.ucll.se.courses.backend.repository.CourseRepository;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,6 +14,18 @@ public class CourseService {
         this.courseRepository = courseRepository;
     }
 
+    /**
+     * The version of a course, to answer conditional requests without
+     * loading it.
+     */
+    public DataVersion getCourseVersion(long id) {
+        // A missing course is a 404, never a validator of zero rows
+        if (!courseRepository.existsById(id)) {
+            throw new NotFoundException("Course with id " + id + " not found");
+        }
+        return courseRepository.findVersionById(id);
+    }
+
     public Course getCourseById(long id) {
         return courseRepository.findById(id).orElseThrow(() -> new NotFoundException("Course with id " + id + " not found"));
     }
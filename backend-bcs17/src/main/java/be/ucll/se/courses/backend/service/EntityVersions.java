@@ -0,0 +1,48 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.model.Assignment;
+import be.ucll.se.courses.backend.model.Course;
+import be.ucll.se.courses.backend.model.Schedule;
+import be.ucll.se.courses.backend.repository.DataVersion;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Versions of entities that were already loaded, for responses whose rows
+ * cannot be summarized with a single aggregate query. They cover every
+ * entity the response serializes, so the validator changes with any of them,
+ * and computing them only walks the graph that serialization would walk.
+ */
+final class EntityVersions {
+    private EntityVersions() {
+    }
+
+    static DataVersion ofSchedules(Collection<Schedule> schedules, long extraRows) {
+        return of(schedules.stream().flatMap(EntityVersions::updates).toList(), extraRows);
+    }
+
+    static DataVersion ofAssignments(Collection<Assignment> assignments) {
+        return of(assignments.stream()
+                .flatMap(assignment -> Stream.concat(
+                        Stream.of(assignment.getUpdatedAt()),
+                        updates(assignment.getSchedule())))
+                .toList(), 0);
+    }
+
+    private static DataVersion of(Collection<Instant> updates, long extraRows) {
+        return DataVersion.of(updates.size() + extraRows, updates.stream());
+    }
+
+    private static Stream<Instant> updates(Schedule schedule) {
+        final var lecturer = schedule.getLecturer();
+        return Stream.of(
+                Stream.of(schedule.getUpdatedAt(), schedule.getCourse().getUpdatedAt(),
+                        lecturer.getUpdatedAt(), lecturer.getUser().getUpdatedAt()),
+                lecturer.getCourses().stream().map(Course::getUpdatedAt),
+                schedule.getStudents().stream()
+                        .flatMap(student -> Stream.of(student.getUpdatedAt(), student.getUser().getUpdatedAt())))
+                .flatMap(updates -> updates);
+    }
+}
@@ -0,0 +1,90 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.repository.CalendarEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an iCalendar (RFC 5545) document one event at a time, so a calendar
+ * never has to be held in memory as a whole.
+ */
+class ICalendarWriter implements AutoCloseable {
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final BufferedWriter writer;
+
+    ICalendarWriter(OutputStream outputStream, String calendarName) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//UCLL//Courses//EN");
+        line("CALSCALE:GREGORIAN");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    void event(CalendarEvent event) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:schedule-" + event.scheduleId() + "@courses");
+        line("DTSTAMP:" + DATE_TIME.format(event.updatedAt()));
+        line("DTSTART:" + DATE_TIME.format(event.start()));
+        line("DTEND:" + DATE_TIME.format(event.end()));
+        line("SUMMARY:" + escape(event.courseName()));
+        line("DESCRIPTION:" + escape(event.courseDescription() + "\n"
+                + "Lecturer: " + event.lecturerFirstName() + " " + event.lecturerLastName()));
+        line("END:VEVENT");
+    }
+
+    @Override
+    public void close() throws IOException {
+        line("END:VCALENDAR");
+        writer.flush();
+    }
+
+    /**
+     * Writes a content line, folding it after every 75 octets as the RFC
+     * requires.
+     */
+    private void line(String content) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            final int codePoint = content.codePointAt(i);
+            final int length = utf8Length(codePoint);
+            if (octets + length > MAX_LINE_OCTETS) {
+                writer.write("\r\n ");
+                // The leading space of a continuation line counts towards its length
+                octets = 1;
+            }
+            writer.write(content, i, Character.charCount(codePoint));
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        writer.write("\r\n");
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+}
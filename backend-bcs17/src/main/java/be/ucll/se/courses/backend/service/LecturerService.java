@@ -2,6 +2,7 @@ package be.ucll.se.courses.backend.service;
 
 import be.ucll.se.courses.backend.exception.NotFoundException;
 import be.ucll.se.courses.backend.model.Lecturer;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import be.ucll.se.courses.backend.repository.LecturerRepository;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +16,18 @@ public class LecturerService {
         this.lecturerRepository = lecturerRepository;
     }
 
+    public DataVersion getLecturersVersion() {
+        return lecturerRepository.findVersion();
+    }
+
+    public DataVersion getLecturerVersion(long id) {
+        // A missing lecturer is a 404, never a validator of zero rows
+        if (!lecturerRepository.existsById(id)) {
+            throw new NotFoundException("Lecturer with id " + id + " not found");
+        }
+        return lecturerRepository.findVersionById(id);
+    }
+
     public List<Lecturer> getAllLecturers() {
         return lecturerRepository.findAll();
     }
@@ -0,0 +1,72 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.repository.CalendarEvent;
+import be.ucll.se.courses.backend.repository.DataVersion;
+import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+@Service
+public class ScheduleCalendarService {
+    private final ScheduleRepository scheduleRepository;
+
+    public ScheduleCalendarService(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    /**
+     * Returns the version of the authenticated user's timetable, which changes
+     * whenever one of its schedules is added, removed or updated, and when the
+     * course or the lecturer shown in one of its events changes.
+     */
+    public DataVersion getCalendarVersion(Authentication authentication) {
+        final var username = authentication.getName();
+        if (isLecturer(authentication)) {
+            return scheduleRepository.findCalendarVersionForLecturer(username);
+        }
+        return scheduleRepository.findCalendarVersionForStudent(username);
+    }
+
+    /**
+     * Writes the authenticated user's timetable as an iCalendar document. The
+     * schedules are streamed from a database cursor and written as they are
+     * read, so memory use does not depend on the size of the timetable.
+     */
+    @Transactional(readOnly = true)
+    public void writeCalendar(Authentication authentication, OutputStream outputStream) throws IOException {
+        final var username = authentication.getName();
+        final Stream<CalendarEvent> events = isLecturer(authentication)
+                ? scheduleRepository.streamCalendarForLecturer(username)
+                : scheduleRepository.streamCalendarForStudent(username);
+
+        try (events; var calendar = new ICalendarWriter(outputStream, "Timetable " + username)) {
+            events.forEach(event -> {
+                try {
+                    calendar.event(event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isLecturer(Authentication authentication) {
+        if (authentication.getAuthorities().contains(Role.LECTURER.toGrantedAuthority())) {
+            return true;
+        } else if (authentication.getAuthorities().contains(Role.STUDENT.toGrantedAuthority())) {
+            return false;
+        } else {
+            throw new AccessDeniedException("Only lecturers and students have a timetable");
+        }
+    }
+}
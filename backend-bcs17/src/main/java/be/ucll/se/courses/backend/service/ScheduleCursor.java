@@ -0,0 +1,44 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.model.Schedule;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of the last schedule on a page. Clients only ever see the encoded
+ * form, so the layout can change without breaking them.
+ */
+record ScheduleCursor(Instant start, long id) {
+    /**
+     * The cursor after the given schedule. The start is truncated to the
+     * milliseconds the column keeps, so a schedule that was saved in this
+     * request compares the same as it will when read back.
+     */
+    static ScheduleCursor of(Schedule schedule) {
+        return new ScheduleCursor(schedule.getStart().truncatedTo(ChronoUnit.MILLIS), schedule.getId());
+    }
+
+    static ScheduleCursor decode(String token) {
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final var parts = decoded.split("\\.");
+            if (parts.length != 3) {
+                throw new CoursesException("Invalid cursor");
+            }
+            final var start = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new ScheduleCursor(start, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new CoursesException("Invalid cursor");
+        }
+    }
+
+    String encode() {
+        final var raw = start.getEpochSecond() + "." + start.getNano() + "." + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
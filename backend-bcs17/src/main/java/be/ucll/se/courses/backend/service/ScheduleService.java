@@ -1,56 +1,163 @@
 package be.ucll.se.courses.backend.service;
 
+import be.ucll.se.courses.backend.controller.dto.ScheduleFilter;
 import be.ucll.se.courses.backend.controller.dto.ScheduleInput;
 import be.ucll.se.courses.backend.controller.dto.EnrollmentInput;
+import be.ucll.se.courses.backend.controller.dto.EnrollmentResult;
+import be.ucll.se.courses.backend.controller.dto.SchedulePage;
 import be.ucll.se.courses.backend.exception.CoursesException;
 import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.exception.ScheduleConflictException;
 import be.ucll.se.courses.backend.model.Role;
 import be.ucll.se.courses.backend.model.Schedule;
 import be.ucll.se.courses.backend.repository.CourseRepository;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import be.ucll.se.courses.backend.repository.LecturerRepository;
+import be.ucll.se.courses.backend.repository.LecturerScheduleIndex;
 import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import be.ucll.se.courses.backend.repository.ScheduleSlot;
+import be.ucll.se.courses.backend.repository.ScheduleSpecifications;
 import be.ucll.se.courses.backend.repository.StudentRepository;
+import be.ucll.se.courses.backend.repository.StudentScheduleSlot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ScheduleService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final ScheduleRepository scheduleRepository;
     private final CourseRepository courseRepository;
     private final LecturerRepository lecturerRepository;
     private final StudentRepository studentRepository;
+    private final LecturerScheduleIndex lecturerScheduleIndex;
+    private final ChangeFeed changeFeed;
+    private final DistributionSummary enrollmentBatchSize;
+    private final Map<EnrollmentResult.Status, Counter> enrollments = new EnumMap<>(EnrollmentResult.Status.class);
 
     public ScheduleService(ScheduleRepository scheduleRepository, CourseRepository courseRepository,
-            LecturerRepository lecturerRepository, StudentRepository studentRepository) {
+            LecturerRepository lecturerRepository, StudentRepository studentRepository,
+            LecturerScheduleIndex lecturerScheduleIndex, ChangeFeed changeFeed, MeterRegistry meterRegistry) {
         this.scheduleRepository = scheduleRepository;
         this.courseRepository = courseRepository;
         this.lecturerRepository = lecturerRepository;
         this.studentRepository = studentRepository;
+        this.lecturerScheduleIndex = lecturerScheduleIndex;
+        this.changeFeed = changeFeed;
+        this.enrollmentBatchSize = DistributionSummary.builder("enrollment.batch.size")
+                .description("Students requested per batch enrollment")
+                .baseUnit("students")
+                .register(meterRegistry);
+        for (final var status : EnrollmentResult.Status.values()) {
+            enrollments.put(status, Counter.builder("enrollment.students")
+                    .description("Students in batch enrollments, by what happened to them")
+                    .tag("status", status.toString())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Returns one page of the schedules visible to the authenticated user,
+     * ordered by start time. Pages are addressed with a keyset cursor on
+     * {@code (start, id)}, so fetching a later page never scans the ones before it.
+     */
+    public SchedulePage getSchedules(Authentication authentication, ScheduleFilter filter) {
+        var specification = Specification.where(visibleTo(authentication))
+                .and(ScheduleSpecifications.hasCourse(filter.courseId()))
+                .and(ScheduleSpecifications.hasLecturer(filter.lecturerId()))
+                .and(ScheduleSpecifications.inPhase(filter.phase()))
+                .and(ScheduleSpecifications.startsFrom(filter.from()))
+                .and(ScheduleSpecifications.startsBefore(filter.to()));
+
+        if (filter.cursor() != null && !filter.cursor().isBlank()) {
+            final var cursor = ScheduleCursor.decode(filter.cursor());
+            specification = specification.and(ScheduleSpecifications.after(cursor.start(), cursor.id()));
+        }
+
+        final int pageSize = pageSize(filter.limit());
+        // Fetch one extra row to find out whether there is a next page
+        final List<Schedule> schedules = scheduleRepository.findBy(specification,
+                query -> query.sortBy(ScheduleSpecifications.KEYSET_ORDER)
+                        .limit(pageSize + 1)
+                        .project(ScheduleRepository.READ_GRAPH)
+                        .all());
+
+        if (schedules.size() <= pageSize) {
+            return new SchedulePage(schedules, null);
+        }
+        final var page = schedules.subList(0, pageSize);
+        return new SchedulePage(page, ScheduleCursor.of(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * The version of a page of schedules, which also changes when a next
+     * page appears or disappears.
+     */
+    public DataVersion getVersion(SchedulePage page) {
+        return EntityVersions.ofSchedules(page.schedules(), page.nextCursor() == null ? 0 : 1);
     }
 
-    public List<Schedule> getSchedules(Authentication authentication) {
+    private static Specification<Schedule> visibleTo(Authentication authentication) {
         if (authentication.getAuthorities().contains(Role.ADMIN.toGrantedAuthority())) {
-            return scheduleRepository.findAll();
+            return null;
         } else if (authentication.getAuthorities().contains(Role.LECTURER.toGrantedAuthority())) {
-            final var username = authentication.getName();
-            return scheduleRepository.findByLecturer_User_Username(username);
+            return ScheduleSpecifications.hasLecturerUsername(authentication.getName());
         } else if (authentication.getAuthorities().contains(Role.STUDENT.toGrantedAuthority())) {
             // Allow students to view all schedules
-            return scheduleRepository.findAll();
+            return null;
         } else {
             throw new AccessDeniedException("You do not have permission to access this resource");
         }
     }
 
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new CoursesException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    /**
+     * Creates a schedule unless its lecturer is already teaching at that time.
+     * The lecturer's row stays locked until the schedule is committed, so two
+     * concurrent requests for the same lecturer cannot both pass the check.
+     */
+    @Transactional
     public Schedule createSchedule(ScheduleInput scheduleInput) {
+        if (scheduleInput.start() == null || scheduleInput.end() == null) {
+            throw new CoursesException("Schedule start and end are required");
+        }
+        // The columns keep milliseconds: check and store what will be read back
+        final var start = scheduleInput.start().truncatedTo(ChronoUnit.MILLIS);
+        final var end = scheduleInput.end().truncatedTo(ChronoUnit.MILLIS);
         final long courseId = scheduleInput.course().id();
         final var course = courseRepository.findById(courseId).orElseThrow(
                 () -> new NotFoundException("Course with id " + courseId + " not found"));
         final long lecturerId = scheduleInput.lecturer().id();
-        final var lecturer = lecturerRepository.findById(lecturerId).orElseThrow(
+        final var lecturer = lecturerRepository.findByIdForUpdate(lecturerId).orElseThrow(
                 () -> new NotFoundException("Lecturer with id " + lecturerId + " not found"));
 
         final boolean existingSchedule = scheduleRepository.existsByCourse_IdAndLecturer_Id(course.getId(),
@@ -61,33 +168,135 @@ public class ScheduleService {
                     "Schedule already exists for course with id " + courseId + " and lecturer with id " + lecturerId);
         }
 
+        // Every schedule created under the lecturer's lock was reserved in the
+        // index before its commit, so no conflict there means none at all
+        var conflicts = lecturerScheduleIndex.findOverlapping(lecturerId, start, end);
+        if (!conflicts.isEmpty()) {
+            // A reservation is only removed just after its transaction rolled
+            // back; the database decides whether the clash is real
+            conflicts = scheduleRepository.findOverlappingSlots(lecturerId, start, end);
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ScheduleConflictException(
+                    "Lecturer with id " + lecturerId + " is already teaching between " + start + " and " + end,
+                    conflicts.stream()
+                            .map(slot -> new ScheduleConflictException.Conflict(slot.id(), slot.start(), slot.end()))
+                            .toList());
+        }
+
         final var schedule = new Schedule(
-                scheduleInput.start(),
-                scheduleInput.end(),
+                start,
+                end,
                 course,
                 lecturer);
 
-        return scheduleRepository.save(schedule);
+        final var saved = scheduleRepository.save(schedule);
+        lecturerScheduleIndex.reserve(lecturerId, new ScheduleSlot(saved.getId(), start, end));
+        changeFeed.scheduleCreated(saved);
+        return saved;
     }
 
+    /**
+     * Enrolls the given students and returns the schedule. Fails without
+     * enrolling anyone if one of the students does not exist.
+     */
+    @Transactional
     public Schedule enroll(EnrollmentInput enrollmentInput) {
+        final var result = enrollAll(enrollmentInput);
+
+        result.students().stream()
+                .filter(student -> student.status() == EnrollmentResult.Status.UNKNOWN_STUDENT)
+                .findFirst()
+                .ifPresent(student -> {
+                    throw new NotFoundException("Student with id " + student.id() + " not found");
+                });
+
+        return scheduleRepository.findById(result.scheduleId()).orElseThrow();
+    }
+
+    /**
+     * Enrolls a whole cohort at once. All students are validated with a single
+     * query and only the missing join rows are inserted, in one JDBC batch, so
+     * the number of round trips does not depend on the number of students.
+     * Unknown students are reported rather than failing the whole batch, and
+     * every student's result lists the other schedules they attend at the
+     * same time.
+     */
+    @Transactional
+    public EnrollmentResult enrollAll(EnrollmentInput enrollmentInput) {
         if (enrollmentInput == null || enrollmentInput.schedule() == null || enrollmentInput.schedule().id() == 0
                 || enrollmentInput.students() == null || enrollmentInput.students().isEmpty()) {
             throw new CoursesException("Invalid enrollment input");
         }
 
         final long scheduleId = enrollmentInput.schedule().id();
-        final var schedule = scheduleRepository.findById(scheduleId).orElseThrow(
+        // Locked until the commit, so concurrent enrollments of the same student
+        // cannot both find them not enrolled yet
+        final var slot = scheduleRepository.findSlotByIdForUpdate(scheduleId).orElseThrow(
                 () -> new NotFoundException("Schedule with id " + scheduleId + " not found"));
 
-        final var students = enrollmentInput.students().stream().map(student -> {
-            final long studentId = student.id();
-            return studentRepository.findById(student.id()).orElseThrow(
-                    () -> new NotFoundException("Student with id " + studentId + " not found"));
+        final var requestedIds = enrollmentInput.students().stream()
+                .map(EnrollmentInput.Student::id)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        final var existingIds = new HashSet<>(studentRepository.findExistingIds(requestedIds));
+        final var enrolledIds = new HashSet<>(scheduleRepository.findEnrolledStudentIds(scheduleId, requestedIds));
+        final var clashes = findClashes(requestedIds, slot);
+
+        final var results = new ArrayList<EnrollmentResult.StudentResult>(requestedIds.size());
+        final var newIds = new ArrayList<Long>();
+        for (final var studentId : requestedIds) {
+            final EnrollmentResult.Status status;
+            if (!existingIds.contains(studentId)) {
+                status = EnrollmentResult.Status.UNKNOWN_STUDENT;
+            } else if (enrolledIds.contains(studentId)) {
+                status = EnrollmentResult.Status.ALREADY_ENROLLED;
+            } else {
+                status = EnrollmentResult.Status.ENROLLED;
+                newIds.add(studentId);
+            }
+            results.add(new EnrollmentResult.StudentResult(studentId, status,
+                    clashes.getOrDefault(studentId, List.of())));
+        }
+
+        scheduleRepository.insertEnrollments(scheduleId, newIds);
+        if (!newIds.isEmpty()) {
+            scheduleRepository.touch(scheduleId, Instant.now());
+            changeFeed.studentsEnrolled(scheduleId, newIds);
+        }
+
+        // Not counted when the transaction rolls back, e.g. when enroll() rejects
+        // an unknown student
+        afterCommit(() -> {
+            enrollmentBatchSize.record(requestedIds.size());
+            results.forEach(result -> enrollments.get(result.status()).increment());
         });
+        return new EnrollmentResult(scheduleId, results);
+    }
 
-        students.forEach(schedule::addStudent);
+    /**
+     * Looks up, for all students at once, the other schedules they attend that
+     * overlap the given slot, grouped per student.
+     */
+    private Map<Long, List<EnrollmentResult.Clash>> findClashes(Collection<Long> studentIds, ScheduleSlot slot) {
+        return scheduleRepository.findOverlappingEnrollments(studentIds, slot.id(), slot.start(), slot.end())
+                .stream()
+                .collect(Collectors.groupingBy(
+                        StudentScheduleSlot::studentId,
+                        Collectors.mapping(
+                                other -> new EnrollmentResult.Clash(other.scheduleId(), other.start(), other.end()),
+                                Collectors.toList())));
+    }
 
-        return scheduleRepository.save(schedule);
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,73 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.repository.DbInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Seeds the database on a background thread once the application is ready,
+ * so startup does not wait for it. Requests that arrive in the meantime see
+ * an empty or partly seeded database; {@link #getProgress()} tells when
+ * seeding is done.
+ */
+public class SeedJob {
+    private static final Logger log = LoggerFactory.getLogger(SeedJob.class);
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * @param completedSteps how many of {@code totalSteps} are done
+     * @param step           the step that is running, if any
+     * @param error          why seeding failed, if it did
+     */
+    public record Progress(Status status,
+            String step,
+            int completedSteps,
+            int totalSteps,
+            Instant startedAt,
+            Instant finishedAt,
+            String error) {
+    }
+
+    private final DbInitializer dbInitializer;
+    private volatile Progress progress;
+
+    public SeedJob(DbInitializer dbInitializer) {
+        this.dbInitializer = dbInitializer;
+        this.progress = new Progress(Status.PENDING, null, 0, dbInitializer.getSteps().size(), null, null, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofPlatform().name("seed").daemon().start(this::run);
+    }
+
+    public Progress getProgress() {
+        return progress;
+    }
+
+    void run() {
+        final var steps = dbInitializer.getSteps();
+        final var startedAt = Instant.now();
+        progress = new Progress(Status.RUNNING, null, 0, steps.size(), startedAt, null, null);
+        try {
+            dbInitializer.seed(step -> progress = new Progress(
+                    Status.RUNNING, step, steps.indexOf(step), steps.size(), startedAt, null, null));
+        } catch (RuntimeException e) {
+            log.error("Seeding the database failed", e);
+            progress = new Progress(Status.FAILED, progress.step(), progress.completedSteps(), steps.size(),
+                    startedAt, Instant.now(), e.getMessage());
+            return;
+        }
+        final var finishedAt = Instant.now();
+        progress = new Progress(Status.COMPLETED, null, steps.size(), steps.size(), startedAt, finishedAt, null);
+        log.info("Seeded the database in {} ms", Duration.between(startedAt, finishedAt).toMillis());
+    }
+}
@@ -1,6 +1,7 @@
 package be.ucll.se.courses.backend.service;
 
 import be.ucll.se.courses.backend.model.Student;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import be.ucll.se.courses.backend.repository.StudentRepository;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,10 @@ public class StudentService {
         this.studentRepository = studentRepository;
     }
 
+    public DataVersion getStudentsVersion() {
+        return studentRepository.findVersion();
+    }
+
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
@@ -0,0 +1,242 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import be.ucll.se.courses.backend.repository.PendingSubmission;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of acknowledged submissions.
+ * <p>
+ * The log is a directory of segment files named after the sequence number of
+ * their first entry. Every entry is framed by its length and a CRC32, so a
+ * write torn by a crash is detected and ignored on replay. Appends are
+ * fsynced before they return; threads appending at the same time share one
+ * fsync. A segment is deleted once every entry in it has been released.
+ */
+class SubmissionLog implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final long segmentSize;
+
+    // Guards the active segment, the segment list and the sequence numbers
+    private final Object writeLock = new Object();
+    // Held while fsyncing; segments are only closed while holding it as well
+    private final Object syncLock = new Object();
+
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+    private final NavigableSet<Long> unreleased = new TreeSet<>();
+    private FileChannel activeSegment;
+    private long nextSequence = 1;
+    private long written;
+    private long synced;
+
+    private SubmissionLog(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed, and returns
+     * every entry that was appended but never released.
+     */
+    static SubmissionLog open(Path directory, long segmentSize, List<Entry> replayed) throws IOException {
+        Files.createDirectories(directory);
+        final var log = new SubmissionLog(directory, segmentSize);
+        try (var files = Files.list(directory)) {
+            for (final var file : files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                final var name = file.getFileName().toString();
+                log.segments.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+        for (final var segment : log.segments.entrySet()) {
+            for (final var entry : readSegment(segment.getValue())) {
+                replayed.add(entry);
+                log.unreleased.add(entry.sequence());
+                log.nextSequence = Math.max(log.nextSequence, entry.sequence() + 1);
+            }
+            log.nextSequence = Math.max(log.nextSequence, segment.getKey());
+        }
+        // Never append to an old segment: it may end in a torn entry
+        log.openSegment();
+        return log;
+    }
+
+    /**
+     * Appends the submission and returns once it is on disk.
+     *
+     * @return the sequence number of the new entry
+     */
+    long append(PendingSubmission submission) throws IOException {
+        final long sequence;
+        final long position;
+        synchronized (writeLock) {
+            sequence = nextSequence++;
+            final var buffer = encode(sequence, submission);
+            while (buffer.hasRemaining()) {
+                activeSegment.write(buffer);
+            }
+            unreleased.add(sequence);
+            position = ++written;
+        }
+        sync(position);
+        return sequence;
+    }
+
+    /**
+     * Marks entries as written to the database and deletes the segments that
+     * no longer contain unreleased entries.
+     */
+    void release(Collection<Long> sequences) throws IOException {
+        synchronized (syncLock) {
+            final List<Path> obsolete = new ArrayList<>();
+            synchronized (writeLock) {
+                unreleased.removeAll(sequences);
+                if (unreleased.isEmpty() && nextSequence > segments.lastKey()) {
+                    // Everything is released, so start over with an empty segment
+                    rollSegment();
+                }
+                final long firstUnreleased = unreleased.isEmpty() ? nextSequence : unreleased.first();
+                final var closed = segments.headMap(segments.lastKey(), false);
+                for (final var segment : closed.entrySet()) {
+                    final var next = segments.higherKey(segment.getKey());
+                    if (next <= firstUnreleased) {
+                        obsolete.add(segment.getValue());
+                    }
+                }
+                closed.values().removeAll(obsolete);
+            }
+            for (final var segment : obsolete) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                activeSegment.force(false);
+                activeSegment.close();
+            }
+        }
+    }
+
+    private void sync(long position) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= position) {
+                // Another thread's fsync already covered this entry
+                return;
+            }
+            final FileChannel channel;
+            final long target;
+            synchronized (writeLock) {
+                channel = activeSegment;
+                target = written;
+            }
+            channel.force(false);
+            synced = target;
+            if (channel.size() >= segmentSize) {
+                synchronized (writeLock) {
+                    rollSegment();
+                }
+            }
+        }
+    }
+
+    // Requires both locks
+    private void rollSegment() throws IOException {
+        activeSegment.force(false);
+        activeSegment.close();
+        synced = written;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        final var path = directory.resolve("%020d%s".formatted(nextSequence, SEGMENT_SUFFIX));
+        activeSegment = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segments.put(nextSequence, path);
+    }
+
+    private static ByteBuffer encode(long sequence, PendingSubmission submission) throws IOException {
+        final var payload = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(payload)) {
+            output.writeLong(sequence);
+            output.writeLong(submission.assignmentId());
+            output.writeLong(submission.studentId());
+            output.writeUTF(submission.status().name());
+            output.writeLong(submission.submittedAt().getEpochSecond());
+            output.writeInt(submission.submittedAt().getNano());
+            final var content = submission.content().getBytes(StandardCharsets.UTF_8);
+            output.writeInt(content.length);
+            output.write(content);
+        }
+        final var bytes = payload.toByteArray();
+        final var crc = new CRC32();
+        crc.update(bytes);
+        return ByteBuffer.allocate(Integer.BYTES + Integer.BYTES + bytes.length)
+                .putInt(bytes.length)
+                .putInt((int) crc.getValue())
+                .put(bytes)
+                .flip();
+    }
+
+    private static List<Entry> readSegment(Path segment) throws IOException {
+        // Segments are small enough to read in one go
+        final var buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        final var entries = new ArrayList<Entry>();
+        while (buffer.remaining() >= Integer.BYTES + Integer.BYTES) {
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+            final var bytes = new byte[length];
+            buffer.get(bytes);
+            final var crc = new CRC32();
+            crc.update(bytes);
+            if ((int) crc.getValue() != checksum) {
+                // A torn write; nothing after it was acknowledged
+                break;
+            }
+            entries.add(decode(bytes));
+        }
+        return entries;
+    }
+
+    private static Entry decode(byte[] bytes) throws IOException {
+        try (var input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final long sequence = input.readLong();
+            final long assignmentId = input.readLong();
+            final long studentId = input.readLong();
+            final var status = SubmissionStatus.valueOf(input.readUTF());
+            final var submittedAt = Instant.ofEpochSecond(input.readLong(), input.readInt());
+            final var content = new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+            return new Entry(sequence, new PendingSubmission(assignmentId, studentId, content, status, submittedAt));
+        }
+    }
+
+    record Entry(long sequence, PendingSubmission submission) {
+    }
+}
@@ -0,0 +1,164 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.config.SubmissionQueueProperties;
+import be.ucll.se.courses.backend.repository.PendingSubmission;
+import be.ucll.se.courses.backend.repository.SubmissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion of submissions.
+ * <p>
+ * A submission is acknowledged as soon as it is in the {@link SubmissionLog},
+ * so a request never waits for the database. A single background writer
+ * drains the queue every flush interval and writes the submissions in JDBC
+ * batches; only then are they released from the log. Entries that were not
+ * released before a crash are replayed on the next start.
+ */
+public class SubmissionQueue implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SubmissionQueue.class);
+
+    private final SubmissionRepository submissionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SubmissionQueueProperties properties;
+    private final BlockingQueue<SubmissionLog.Entry> pending = new LinkedBlockingQueue<>();
+    // Only touched by the writer thread
+    private final List<SubmissionLog.Entry> unwritten = new ArrayList<>();
+
+    private SubmissionLog submissionLog;
+    private ScheduledExecutorService writer;
+    private volatile boolean running;
+
+    public SubmissionQueue(SubmissionRepository submissionRepository,
+                           TransactionTemplate transactionTemplate,
+                           SubmissionQueueProperties properties) {
+        this.submissionRepository = submissionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Durably queues the submission. When this returns the submission
+     * survives a crash, even though it may not be in the database yet.
+     */
+    public void append(PendingSubmission submission) {
+        if (!running) {
+            throw new IllegalStateException("The submission queue is not running");
+        }
+        try {
+            final long sequence = submissionLog.append(submission);
+            pending.add(new SubmissionLog.Entry(sequence, submission));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write submission to the log", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        final var replayed = new ArrayList<SubmissionLog.Entry>();
+        try {
+            submissionLog = SubmissionLog.open(properties.directory(), properties.segmentSize().toBytes(), replayed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open submission log in " + properties.directory(), e);
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replaying {} submissions from {}", replayed.size(), properties.directory());
+            pending.addAll(replayed);
+        }
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "submission-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long interval = properties.flushInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        writer.shutdown();
+        try {
+            if (writer.awaitTermination(properties.flushInterval().toMillis() * 10, TimeUnit.MILLISECONDS)) {
+                // Write what is left; anything that fails is replayed on the next start
+                flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            submissionLog.close();
+        } catch (IOException e) {
+            log.warn("Could not close submission log", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before and stop after the web server, so no request finds the queue closed
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * Writes queued submissions until the queue is empty or the database
+     * fails, in which case the failed batch is retried on the next run.
+     */
+    void flush() {
+        try {
+            while (true) {
+                if (unwritten.isEmpty()) {
+                    pending.drainTo(unwritten, properties.batchSize());
+                }
+                if (unwritten.isEmpty()) {
+                    return;
+                }
+                unwritten.sort(Comparator.comparingLong(SubmissionLog.Entry::sequence));
+                write(unwritten);
+                submissionLog.release(unwritten.stream().map(SubmissionLog.Entry::sequence).toList());
+                unwritten.clear();
+            }
+        } catch (RuntimeException | IOException e) {
+            log.warn("Could not write {} queued submissions, retrying later", unwritten.size(), e);
+        }
+    }
+
+    private void write(List<SubmissionLog.Entry> entries) {
+        final var submissions = entries.stream().map(SubmissionLog.Entry::submission).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> submissionRepository.writeSubmissions(submissions));
+        } catch (DataIntegrityViolationException e) {
+            // One submission refers to a deleted assignment or student. Write
+            // them one by one so the rest of the batch is not held back.
+            for (final var submission : submissions) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> submissionRepository.writeSubmissions(List.of(submission)));
+                } catch (DataIntegrityViolationException rejected) {
+                    log.warn("Dropping queued submission of student {} for assignment {}",
+                            submission.studentId(), submission.assignmentId(), rejected);
+                }
+            }
+        }
+    }
+}
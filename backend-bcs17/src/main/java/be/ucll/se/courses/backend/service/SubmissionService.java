@@ -0,0 +1,162 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.controller.dto.SubmissionInput;
+import be.ucll.se.courses.backend.controller.dto.SubmissionReceipt;
+import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.Submission;
+import be.ucll.se.courses.backend.model.SubmissionStatus;
+import be.ucll.se.courses.backend.repository.AssignmentRepository;
+import be.ucll.se.courses.backend.repository.PendingSubmission;
+import be.ucll.se.courses.backend.repository.StudentRepository;
+import be.ucll.se.courses.backend.repository.SubmissionRepository;
+import be.ucll.se.courses.backend.repository.SubmissionTarget;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class SubmissionService {
+    private final SubmissionRepository submissionRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final StudentRepository studentRepository;
+    private final ObjectProvider<SubmissionQueue> submissionQueue;
+
+    public SubmissionService(SubmissionRepository submissionRepository,
+                             AssignmentRepository assignmentRepository,
+                             StudentRepository studentRepository,
+                             ObjectProvider<SubmissionQueue> submissionQueue) {
+        this.submissionRepository = submissionRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.studentRepository = studentRepository;
+        this.submissionQueue = submissionQueue;
+    }
+
+    /**
+     * Admins and the lecturer teaching the assignment's schedule see every
+     * submission, students only their own.
+     */
+    public List<Submission> getSubmissions(long assignmentId, Authentication authentication) {
+        final var lecturerUsername = assignmentRepository.findLecturerUsername(assignmentId).orElseThrow(
+                () -> new NotFoundException("Assignment with id " + assignmentId + " not found"));
+        final var authorities = authentication.getAuthorities();
+        if (authorities.contains(Role.ADMIN.toGrantedAuthority())) {
+            return submissionRepository.findByAssignment_Id(assignmentId);
+        } else if (authorities.contains(Role.LECTURER.toGrantedAuthority())) {
+            if (!lecturerUsername.equals(authentication.getName())) {
+                throw new AccessDeniedException("Only the lecturer of the assignment can view its submissions");
+            }
+            return submissionRepository.findByAssignment_Id(assignmentId);
+        } else if (authorities.contains(Role.STUDENT.toGrantedAuthority())) {
+            return submissionRepository.findByAssignment_IdAndStudent_User_Username(assignmentId,
+                    authentication.getName());
+        } else {
+            throw new AccessDeniedException("You do not have permission to access this resource");
+        }
+    }
+
+    /**
+     * Whether submissions are queued and written behind instead of inserted
+     * while the request waits.
+     */
+    public boolean isQueued() {
+        return submissionQueue.getIfAvailable() != null;
+    }
+
+    /**
+     * Stores a student's submission for an assignment, provided the student is
+     * enrolled in the assignment's schedule.
+     * <p>
+     * This is the write path that takes the load when a deadline approaches,
+     * so it costs one lookup and one insert: the assignment and student are
+     * only referenced by id and never loaded. The unique index on
+     * {@code (assignment_id, student_id)} guarantees one submission per
+     * student; when it is hit, the existing submission is overwritten only if
+     * it is still a draft.
+     *
+     * @param submittedAt the time the submission was received, checked against
+     *                    the due date
+     */
+    public Submission submit(long assignmentId, String username, SubmissionInput submissionInput,
+                             Instant submittedAt) {
+        final var status = validate(submissionInput);
+        final var target = findTarget(assignmentId, username, status, submittedAt);
+
+        if (target.existingStatus() == null) {
+            try {
+                return submissionRepository.save(new Submission(
+                        assignmentRepository.getReferenceById(assignmentId),
+                        studentRepository.getReferenceById(target.studentId()),
+                        submissionInput.content(),
+                        status,
+                        submittedAt));
+            } catch (DataIntegrityViolationException e) {
+                // A parallel request of the same student got there first
+            }
+        }
+        final int updated = submissionRepository.updateDraft(assignmentId, target.studentId(),
+                submissionInput.content(), status, submittedAt);
+        if (updated == 0) {
+            throw alreadySubmitted(assignmentId);
+        }
+        return submissionRepository.findByAssignment_IdAndStudent_Id(assignmentId, target.studentId())
+                .orElseThrow();
+    }
+
+    /**
+     * Accepts a student's submission into the write-behind queue. Once this
+     * returns the submission is durable, and {@code acknowledgedAt} is the
+     * submission time that counts for the deadline: it is not checked again
+     * when the submission is written to the database.
+     */
+    public SubmissionReceipt enqueue(long assignmentId, String username, SubmissionInput submissionInput,
+                                     Instant acknowledgedAt) {
+        final var status = validate(submissionInput);
+        final var target = findTarget(assignmentId, username, status, acknowledgedAt);
+
+        submissionQueue.getObject().append(new PendingSubmission(
+                assignmentId, target.studentId(), submissionInput.content(), status, acknowledgedAt));
+        return new SubmissionReceipt(assignmentId, target.studentId(), status, acknowledgedAt);
+    }
+
+    private SubmissionStatus validate(SubmissionInput submissionInput) {
+        if (submissionInput == null || submissionInput.content() == null || submissionInput.content().isBlank()) {
+            throw new CoursesException("Submission content is required");
+        }
+        final var status = submissionInput.status() == null ? SubmissionStatus.SUBMITTED : submissionInput.status();
+        if (status == SubmissionStatus.GRADED) {
+            throw new CoursesException("A submission cannot be graded by submitting it");
+        }
+        return status;
+    }
+
+    private SubmissionTarget findTarget(long assignmentId, String username, SubmissionStatus status,
+                                        Instant submittedAt) {
+        final var target = submissionRepository.findTarget(assignmentId, username)
+                .orElseThrow(() -> missingTarget(assignmentId));
+        if (target.existingStatus() != null && target.existingStatus() != SubmissionStatus.DRAFT) {
+            throw alreadySubmitted(assignmentId);
+        }
+        if (status == SubmissionStatus.SUBMITTED && submittedAt.isAfter(target.dueDate())) {
+            throw new CoursesException("The deadline for assignment with id " + assignmentId + " has passed");
+        }
+        return target;
+    }
+
+    private CoursesException alreadySubmitted(long assignmentId) {
+        return new CoursesException("Assignment with id " + assignmentId + " has already been submitted");
+    }
+
+    private RuntimeException missingTarget(long assignmentId) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            return new NotFoundException("Assignment with id " + assignmentId + " not found");
+        }
+        return new AccessDeniedException("Only students enrolled in the schedule can submit assignments");
+    }
+}
@@ -0,0 +1,99 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.config.UserDetailsCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Users looked up by username while logging in, including usernames that do
+ * not exist, so repeated attempts for the same username do not reach the
+ * database.
+ * <p>
+ * Entries are dropped by {@link UserDetailsCacheListener} when a user is
+ * saved or deleted through JPA. Writes that bypass JPA must call
+ * {@link #invalidate(String)}. Entries also expire after a while in case an
+ * invalidation is missed. When the cache is full, Caffeine evicts the
+ * usernames least likely to be used again, so a burst of random usernames
+ * does not push out the users who keep logging in.
+ */
+@Component
+public class UserDetailsCache {
+    private final UserDetailsCacheProperties properties;
+    private final Cache<String, Optional<UserDetailsImpl>> entries;
+    // Counts invalidations, so a load that raced with one is not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserDetailsCache(UserDetailsCacheProperties properties) {
+        this.properties = properties;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, properties.maxEntries()))
+                .expireAfter(new ExpiresByOutcome(properties.ttl(), properties.negativeTtl()))
+                // Evict on the calling thread; the work per call is small
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Returns the cached lookup for the username, or calls {@code loader} and
+     * caches its result. The loader runs outside of any lock, so a slow
+     * lookup never holds up those of other usernames.
+     */
+    public Optional<UserDetailsImpl> get(String username, Function<String, Optional<UserDetailsImpl>> loader) {
+        if (properties.maxEntries() <= 0) {
+            return loader.apply(username);
+        }
+        final var cached = entries.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        final long before = invalidations.get();
+        final var userDetails = loader.apply(username);
+        entries.put(username, userDetails);
+        if (invalidations.get() != before) {
+            // The user may have changed after it was read; do not keep it
+            entries.invalidate(username);
+        }
+        return userDetails;
+    }
+
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        entries.invalidate(username);
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    /**
+     * Keeps a found user for the ttl and an unknown username for the
+     * negative ttl.
+     */
+    private record ExpiresByOutcome(Duration ttl, Duration negativeTtl)
+            implements Expiry<String, Optional<UserDetailsImpl>> {
+        @Override
+        public long expireAfterCreate(String username, Optional<UserDetailsImpl> userDetails, long currentTime) {
+            return (userDetails.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, Optional<UserDetailsImpl> userDetails, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(username, userDetails, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String username, Optional<UserDetailsImpl> userDetails, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
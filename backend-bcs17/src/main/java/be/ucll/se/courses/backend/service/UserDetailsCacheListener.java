@@ -0,0 +1,38 @@
+package be.ucll.se.courses.backend.service;
+
+import be.ucll.se.courses.backend.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops users from the {@link UserDetailsCache} once changes to them, such as
+ * a new role or password, are committed.
+ */
+public class UserDetailsCacheListener {
+    private final ObjectProvider<UserDetailsCache> cache;
+
+    public UserDetailsCacheListener(ObjectProvider<UserDetailsCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void userChanged(User user) {
+        final var username = user.getUsername();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.getObject().invalidate(username);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.getObject().invalidate(username);
+            }
+        });
+    }
+}
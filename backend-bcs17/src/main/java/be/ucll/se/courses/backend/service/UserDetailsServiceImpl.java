@@ -10,19 +10,29 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return new UserDetailsImpl(userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username)));
+        return userDetailsCache.get(username, key -> userRepository.findByUsername(key).map(UserDetailsImpl::new))
+                .orElseThrow(() -> new UsernameNotFoundException(username));
     }
 
+    /**
+     * Called by Spring Security after a successful login when the stored hash
+     * was made with other settings than the current ones, with the password
+     * hashed again using the current settings.
+     */
     @Override
     public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
         final var user = ((UserDetailsImpl) userDetails).user();
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.invalidate(user.getUsername());
         user.setPassword(newPassword);
         return userDetails;
     }
@@ -3,10 +3,14 @@ package be.ucll.se.courses.backend.service;
 import be.ucll.se.courses.backend.controller.dto.AuthenticationResponse;
 import be.ucll.se.courses.backend.controller.dto.UserInput;
 import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.exception.ServiceBusyException;
 import be.ucll.se.courses.backend.model.User;
 import be.ucll.se.courses.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -18,15 +22,21 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserDetailsCache userDetailsCache;
+    private final MeterRegistry meterRegistry;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        AuthenticationManager authenticationManager,
-                       JwtService jwtService) {
+                       JwtService jwtService,
+                       UserDetailsCache userDetailsCache,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.userDetailsCache = userDetailsCache;
+        this.meterRegistry = meterRegistry;
     }
 
     public List<User> getAllUsers() {
@@ -42,7 +52,17 @@ public class UserService {
      */
     public AuthenticationResponse authenticate(String username, String password) {
         final var usernamePasswordAuthentication = new UsernamePasswordAuthenticationToken(username, password);
-        final var authentication = authenticationManager.authenticate(usernamePasswordAuthentication);
+        final Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(usernamePasswordAuthentication);
+        } catch (AuthenticationException e) {
+            countLogin("rejected");
+            throw e;
+        } catch (ServiceBusyException e) {
+            countLogin("busy");
+            throw e;
+        }
+        countLogin("success");
         final var user = ((UserDetailsImpl) authentication.getPrincipal()).user();
         final var token = jwtService.generateToken(user);
         return new AuthenticationResponse(
@@ -75,7 +95,18 @@ public class UserService {
                 userInput.role()
         );
 
-        return userRepository.save(user);
+        final var savedUser = userRepository.save(user);
+        // The username may have been looked up, and remembered as unknown, before
+        userDetailsCache.invalidate(savedUser.getUsername());
+        return savedUser;
     }
 
+    /**
+     * Counts login attempts as {@code login.attempts}, by outcome. How long
+     * they took is in {@code service.calls}, and the time spent hashing in
+     * {@code password.hashing.duration}.
+     */
+    private void countLogin(String outcome) {
+        meterRegistry.counter("login.attempts", "outcome", outcome).increment();
+    }
 }
@@ -0,0 +1,43 @@
+-- The assignment table may already have been created by hand on existing databases
+CREATE TABLE IF NOT EXISTS assignment (
+    id BIGSERIAL NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL,
+    title TEXT NOT NULL,
+    description TEXT NOT NULL,
+    due_date TIMESTAMP(3) NOT NULL,
+    is_published BOOLEAN NOT NULL DEFAULT FALSE,
+    schedule_id BIGINT NOT NULL,
+
+    CONSTRAINT assignment_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE submission (
+    id BIGSERIAL NOT NULL,
+    assignment_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'SUBMITTED',
+    submitted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_edited_at TIMESTAMP(3),
+    grade DECIMAL(5,2),
+    feedback TEXT,
+    graded_by BIGINT,
+    graded_at TIMESTAMP(3),
+
+    CONSTRAINT submission_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS assignment_schedule_id_index ON assignment (schedule_id);
+
+CREATE UNIQUE INDEX submission_assignment_id_student_id_key ON submission (assignment_id, student_id);
+
+CREATE INDEX submission_student_id_index ON submission (student_id);
+
+ALTER TABLE assignment ADD CONSTRAINT assignment_schedule_id_fkey FOREIGN KEY (schedule_id) REFERENCES schedule (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_assignment_id_fkey FOREIGN KEY (assignment_id) REFERENCES assignment (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_student_id_fkey FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_graded_by_fkey FOREIGN KEY (graded_by) REFERENCES "user" (id) ON DELETE SET NULL ON UPDATE CASCADE;
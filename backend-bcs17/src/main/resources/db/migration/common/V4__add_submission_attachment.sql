@@ -0,0 +1,18 @@
+CREATE TABLE submission_attachment (
+    id BIGSERIAL NOT NULL,
+    assignment_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    file_name TEXT NOT NULL,
+    content_type TEXT NOT NULL,
+    size BIGINT NOT NULL,
+    uploaded_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT submission_attachment_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX submission_attachment_assignment_id_student_id_index ON submission_attachment (assignment_id, student_id);
+
+ALTER TABLE submission_attachment ADD CONSTRAINT submission_attachment_assignment_id_fkey FOREIGN KEY (assignment_id) REFERENCES assignment (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission_attachment ADD CONSTRAINT submission_attachment_student_id_fkey FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE ON UPDATE CASCADE;
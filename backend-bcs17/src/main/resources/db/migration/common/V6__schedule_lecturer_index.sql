@@ -0,0 +1,2 @@
+-- Looking up a lecturer's schedules when checking a new one for conflicts
+CREATE INDEX schedule_lecturer_id_start_index ON schedule (lecturer_id, "start");
@@ -0,0 +1,32 @@
+-- The H2 version of ../postgresql/V5__pooled_id_sequences.sql: H2 has no
+-- setval, but accepts a query as the value to restart a sequence with.
+
+ALTER TABLE "user" ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS user_id_seq;
+CREATE SEQUENCE user_seq INCREMENT BY 50;
+ALTER SEQUENCE user_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM "user");
+
+ALTER TABLE lecturer ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS lecturer_id_seq;
+CREATE SEQUENCE lecturer_seq INCREMENT BY 50;
+ALTER SEQUENCE lecturer_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM lecturer);
+
+ALTER TABLE student ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS student_id_seq;
+CREATE SEQUENCE student_seq INCREMENT BY 50;
+ALTER SEQUENCE student_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM student);
+
+ALTER TABLE course ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS course_id_seq;
+CREATE SEQUENCE course_seq INCREMENT BY 50;
+ALTER SEQUENCE course_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM course);
+
+ALTER TABLE schedule ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS schedule_id_seq;
+CREATE SEQUENCE schedule_seq INCREMENT BY 50;
+ALTER SEQUENCE schedule_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM schedule);
+
+ALTER TABLE assignment ALTER COLUMN id DROP IDENTITY;
+DROP SEQUENCE IF EXISTS assignment_id_seq;
+CREATE SEQUENCE assignment_seq INCREMENT BY 50;
+ALTER SEQUENCE assignment_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 51 FROM assignment);
@@ -0,0 +1,37 @@
+-- Replace the BIGSERIAL ids of the entity tables with sequences Hibernate
+-- reads 50 ids at a time from (a pooled optimizer). Hibernate then no longer
+-- needs a round trip per INSERT to learn the generated key, so inserts can be
+-- sent in JDBC batches. The column defaults are dropped because a nextval
+-- taken outside Hibernate would fall inside a range Hibernate has reserved.
+-- Every sequence starts past the existing ids. The H2 version of this
+-- migration is in ../h2.
+
+ALTER TABLE "user" ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS user_id_seq;
+CREATE SEQUENCE user_seq INCREMENT BY 50;
+SELECT setval('user_seq', (SELECT COALESCE(MAX(id), 0) FROM "user") + 51, false);
+
+ALTER TABLE lecturer ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS lecturer_id_seq;
+CREATE SEQUENCE lecturer_seq INCREMENT BY 50;
+SELECT setval('lecturer_seq', (SELECT COALESCE(MAX(id), 0) FROM lecturer) + 51, false);
+
+ALTER TABLE student ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS student_id_seq;
+CREATE SEQUENCE student_seq INCREMENT BY 50;
+SELECT setval('student_seq', (SELECT COALESCE(MAX(id), 0) FROM student) + 51, false);
+
+ALTER TABLE course ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS course_id_seq;
+CREATE SEQUENCE course_seq INCREMENT BY 50;
+SELECT setval('course_seq', (SELECT COALESCE(MAX(id), 0) FROM course) + 51, false);
+
+ALTER TABLE schedule ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS schedule_id_seq;
+CREATE SEQUENCE schedule_seq INCREMENT BY 50;
+SELECT setval('schedule_seq', (SELECT COALESCE(MAX(id), 0) FROM schedule) + 51, false);
+
+ALTER TABLE assignment ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS assignment_id_seq;
+CREATE SEQUENCE assignment_seq INCREMENT BY 50;
+SELECT setval('assignment_seq', (SELECT COALESCE(MAX(id), 0) FROM assignment) + 51, false);
@@ -5,9 +5,26 @@ DROP TABLE IF EXISTS schedule CASCADE;
 DROP TABLE IF EXISTS "user" CASCADE;
 DROP TABLE IF EXISTS course_lecturers CASCADE;
 DROP TABLE IF EXISTS schedule_students CASCADE;
+DROP TABLE IF EXISTS assignment CASCADE;
+DROP TABLE IF EXISTS submission CASCADE;
+DROP TABLE IF EXISTS submission_attachment CASCADE;
+DROP SEQUENCE IF EXISTS lecturer_seq;
+DROP SEQUENCE IF EXISTS student_seq;
+DROP SEQUENCE IF EXISTS course_seq;
+DROP SEQUENCE IF EXISTS schedule_seq;
+DROP SEQUENCE IF EXISTS user_seq;
+DROP SEQUENCE IF EXISTS assignment_seq;
+
+-- Hibernate reserves 50 ids per call (allocationSize), so inserts can be batched
+CREATE SEQUENCE lecturer_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE student_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE course_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE schedule_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE assignment_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE lecturer (
-    id BIGSERIAL NOT NULL,
+    id BIGINT NOT NULL,
     created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(3) NOT NULL,
     expertise TEXT NOT NULL,
@@ -17,7 +34,7 @@ CREATE TABLE lecturer (
 );
 
 CREATE TABLE student (
-    id BIGSERIAL NOT NULL,
+    id BIGINT NOT NULL,
     created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(3) NOT NULL,
     student_number TEXT NOT NULL,
@@ -27,7 +44,7 @@ CREATE TABLE student (
 );
 
 CREATE TABLE course (
-    id BIGSERIAL NOT NULL,
+    id BIGINT NOT NULL,
     created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(3) NOT NULL,
     name TEXT NOT NULL,
@@ -39,7 +56,7 @@ CREATE TABLE course (
 );
 
 CREATE TABLE schedule (
-    id BIGSERIAL NOT NULL,
+    id BIGINT NOT NULL,
     created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(3) NOT NULL,
     "start" TIMESTAMP(3) NOT NULL,
@@ -51,7 +68,7 @@ CREATE TABLE schedule (
 );
 
 CREATE TABLE "user" (
-    id BIGSERIAL NOT NULL,
+    id BIGINT NOT NULL,
     created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP(3) NOT NULL,
     username TEXT NOT NULL,
@@ -74,6 +91,47 @@ CREATE TABLE schedule_students (
     student_id BIGINT NOT NULL
 );
 
+CREATE TABLE assignment (
+    id BIGINT NOT NULL,
+    created_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL,
+    title TEXT NOT NULL,
+    description TEXT NOT NULL,
+    due_date TIMESTAMP(3) NOT NULL,
+    is_published BOOLEAN NOT NULL DEFAULT FALSE,
+    schedule_id BIGINT NOT NULL,
+
+    CONSTRAINT assignment_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE submission (
+    id BIGSERIAL NOT NULL,
+    assignment_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'SUBMITTED',
+    submitted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_edited_at TIMESTAMP(3),
+    grade DECIMAL(5,2),
+    feedback TEXT,
+    graded_by BIGINT,
+    graded_at TIMESTAMP(3),
+
+    CONSTRAINT submission_pkey PRIMARY KEY (id)
+);
+CREATE TABLE submission_attachment (
+    id BIGSERIAL NOT NULL,
+    assignment_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    file_name TEXT NOT NULL,
+    content_type TEXT NOT NULL,
+    size BIGINT NOT NULL,
+    uploaded_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT submission_attachment_pkey PRIMARY KEY (id)
+);
+
 CREATE UNIQUE INDEX lecturer_user_id_key ON lecturer (user_id);
 
 CREATE UNIQUE INDEX student_student_number_key ON student (student_number);
@@ -92,6 +150,8 @@ CREATE UNIQUE INDEX schedule_students_unique ON schedule_students (schedule_id,
 
 CREATE INDEX schedule_students_student_id_index ON schedule_students (student_id);
 
+CREATE INDEX schedule_lecturer_id_start_index ON schedule (lecturer_id, "start");
+
 ALTER TABLE lecturer ADD CONSTRAINT lecturer_user_id_fkey FOREIGN KEY (user_id) REFERENCES "user" (id) ON DELETE RESTRICT ON UPDATE CASCADE;
 
 ALTER TABLE student ADD CONSTRAINT student_user_id_fkey FOREIGN KEY (user_id) REFERENCES "user" (id) ON DELETE RESTRICT ON UPDATE CASCADE;
@@ -107,3 +167,23 @@ ALTER TABLE course_lecturers ADD CONSTRAINT course_lecturers_lecturer_id_fkey FO
 ALTER TABLE schedule_students ADD CONSTRAINT schedule_students_schedule_id_fkey FOREIGN KEY (schedule_id) REFERENCES schedule (id) ON DELETE CASCADE ON UPDATE CASCADE;
 
 ALTER TABLE schedule_students ADD CONSTRAINT schedule_students_student_id_fkey FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+CREATE INDEX assignment_schedule_id_index ON assignment (schedule_id);
+
+CREATE UNIQUE INDEX submission_assignment_id_student_id_key ON submission (assignment_id, student_id);
+
+CREATE INDEX submission_student_id_index ON submission (student_id);
+
+ALTER TABLE assignment ADD CONSTRAINT assignment_schedule_id_fkey FOREIGN KEY (schedule_id) REFERENCES schedule (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_assignment_id_fkey FOREIGN KEY (assignment_id) REFERENCES assignment (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_student_id_fkey FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission ADD CONSTRAINT submission_graded_by_fkey FOREIGN KEY (graded_by) REFERENCES "user" (id) ON DELETE SET NULL ON UPDATE CASCADE;
+
+CREATE INDEX submission_attachment_assignment_id_student_id_index ON submission_attachment (assignment_id, student_id);
+
+ALTER TABLE submission_attachment ADD CONSTRAINT submission_attachment_assignment_id_fkey FOREIGN KEY (assignment_id) REFERENCES assignment (id) ON DELETE CASCADE ON UPDATE CASCADE;
+
+ALTER TABLE submission_attachment ADD CONSTRAINT submission_attachment_student_id_fkey FOREIGN KEY (student_id) REFERENCES student (id) ON DELETE CASCADE ON UPDATE CASCADE;
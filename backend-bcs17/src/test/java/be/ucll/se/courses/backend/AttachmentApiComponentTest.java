@@ -0,0 +1,193 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import be.ucll.se.courses.backend.service.AttachmentStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "attachments.directory=target/test-attachments")
+@AutoConfigureMockMvc
+@Transactional
+public class AttachmentApiComponentTest {
+    private static final byte[] PROJECT = "PK project zip contents".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AttachmentStore attachmentStore;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private Assignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        final var start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var course = courseRepository.save(new Course("Attachment Course", "Course for attachments", 1, 3));
+        final var lecturer = lecturerRepository.save(new Lecturer("Attachments", userRepository.save(new User(
+                "attachment.lecturer", "Attachment", "Lecturer", "attachment.lecturer@example.com", "password",
+                Role.LECTURER))));
+        lecturerRepository.save(new Lecturer("Other courses", userRepository.save(new User(
+                "attachment.other.lecturer", "Other", "Lecturer", "attachment.other.lecturer@example.com",
+                "password", Role.LECTURER))));
+        final var schedule = scheduleRepository.save(
+                new Schedule(start, start.plus(2, ChronoUnit.HOURS), course, lecturer));
+        assignment = assignmentRepository.save(new Assignment(
+                "Project", "Upload your project", start.plus(1, ChronoUnit.DAYS), schedule));
+        for (final var name : new String[] { "alex", "sarah" }) {
+            schedule.addStudent(studentRepository.save(new Student("r-" + name, userRepository.save(new User(
+                    "attachment." + name, "Student", name, "attachment." + name + "@example.com", "password",
+                    Role.STUDENT)))));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.alex", roles = "STUDENT")
+    void upload_SameContentTwice_StoresOneFile() throws Exception {
+        final var first = upload();
+        final var second = upload();
+
+        assertThat(second.get("id").asLong()).isNotEqualTo(first.get("id").asLong());
+        assertThat(second.get("sha256").asText()).isEqualTo(first.get("sha256").asText());
+        assertThat(first.get("size").asLong()).isEqualTo(PROJECT.length);
+
+        final var file = attachmentStore.resolve(first.get("sha256").asText());
+        assertThat(Files.readAllBytes(file)).isEqualTo(PROJECT);
+        // The second upload was discarded instead of being stored again
+        try (var uploads = Files.list(Path.of("target/test-attachments/uploads"))) {
+            assertThat(uploads).isEmpty();
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.alex", roles = "STUDENT")
+    void download_WithRange_ReturnsPartialContent() throws Exception {
+        final var attachmentId = upload().get("id").asLong();
+
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=3-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 3-9/" + PROJECT.length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 7))
+                .andExpect(content().bytes("project".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes(PROJECT));
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.alex", roles = "STUDENT")
+    void download_RangeBeyondEnd_ReturnsRangeNotSatisfiable() throws Exception {
+        final var attachmentId = upload().get("id").asLong();
+
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + PROJECT.length));
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.sarah", roles = "STUDENT")
+    void download_AnotherStudentsAttachment_ReturnsNotFound() throws Exception {
+        final var attachmentId = upload("attachment.alex").get("id").asLong();
+
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.lecturer", roles = "LECTURER")
+    void getAttachments_LecturerOfAssignment_ReturnsEveryStudentsAttachments() throws Exception {
+        upload("attachment.alex");
+        upload("attachment.sarah");
+
+        mockMvc.perform(get("/assignments/{id}/attachments", assignment.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.other.lecturer", roles = "LECTURER")
+    void getAttachments_LecturerOfAnotherCourse_ReturnsForbidden() throws Exception {
+        final var attachmentId = upload("attachment.alex").get("id").asLong();
+
+        mockMvc.perform(get("/assignments/{id}/attachments", assignment.getId()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "attachment.guest", roles = "GUEST")
+    void download_UserWithoutStudentLecturerOrAdminRole_ReturnsForbidden() throws Exception {
+        final var attachmentId = upload("attachment.alex").get("id").asLong();
+
+        mockMvc.perform(get("/assignments/{id}/attachments/{attachmentId}", assignment.getId(), attachmentId))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode upload() throws Exception {
+        return upload(null);
+    }
+
+    private JsonNode upload(String username) throws Exception {
+        final var request = post("/assignments/{id}/attachments", assignment.getId())
+                .param("fileName", "project.zip")
+                .contentType("application/zip")
+                .content(PROJECT);
+        if (username != null) {
+            request.with(user(username).roles("STUDENT"));
+        }
+        final var result = mockMvc.perform(request)
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
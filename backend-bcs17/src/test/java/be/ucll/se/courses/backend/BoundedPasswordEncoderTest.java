@@ -0,0 +1,83 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.config.BoundedPasswordEncoder;
+import be.ucll.se.courses.backend.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void encode_WithinCapacity_DelegatesAndRecordsMetrics() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofSeconds(2), meterRegistry);
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void encode_QueueFull_RejectsImmediately() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, Duration.ofSeconds(2), meterRegistry);
+
+        // One hash runs, one waits in the queue
+        final var running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        final var queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting(e -> ((ServiceBusyException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(2));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
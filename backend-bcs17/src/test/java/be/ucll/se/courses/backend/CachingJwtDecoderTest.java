@@ -0,0 +1,139 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class CachingJwtDecoderTest {
+    private static final Instant NOW = Instant.parse("2025-02-03T10:00:00Z");
+
+    private JwtDecoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+    }
+
+    @Test
+    void decode_SameTokenTwice_VerifiesOnce() {
+        final var decoder = new CachingJwtDecoder(delegate, 10, clock, meterRegistry);
+        when(delegate.decode("token")).thenReturn(jwt("token", NOW.plus(Duration.ofHours(1))));
+
+        final var first = decoder.decode("token");
+        final var second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).decode("token");
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void decode_AfterExpiry_AsksDelegateAgain() {
+        final var decoder = new CachingJwtDecoder(delegate, 10, clock, meterRegistry);
+        when(delegate.decode("token"))
+                .thenReturn(jwt("token", NOW.plus(Duration.ofMinutes(5))))
+                .thenThrow(new BadJwtException("Jwt expired"));
+
+        decoder.decode("token");
+        clock.now = NOW.plus(Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void decode_InvalidToken_IsNotCached() {
+        final var decoder = new CachingJwtDecoder(delegate, 10, clock, meterRegistry);
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("Signature does not match"));
+
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("forged");
+    }
+
+    @Test
+    void decode_CacheFull_EvictsExpiredTokensFirst() {
+        final var decoder = new CachingJwtDecoder(delegate, 2, clock, meterRegistry);
+        when(delegate.decode("short")).thenReturn(jwt("short", NOW.plus(Duration.ofMinutes(1))));
+        when(delegate.decode("long")).thenReturn(jwt("long", NOW.plus(Duration.ofHours(8))));
+        when(delegate.decode("new")).thenReturn(jwt("new", NOW.plus(Duration.ofHours(8))));
+
+        decoder.decode("short");
+        decoder.decode("long");
+        clock.now = NOW.plus(Duration.ofMinutes(2));
+        decoder.decode("new");
+        decoder.decode("new");
+        decoder.decode("long");
+
+        verify(delegate, times(1)).decode("new");
+        verify(delegate, times(1)).decode("long");
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void decode_MoreTokensThanRoom_StaysBounded() {
+        final var decoder = new CachingJwtDecoder(delegate, 2, clock, meterRegistry);
+        for (int i = 0; i < 10; i++) {
+            final var token = "token" + i;
+            when(delegate.decode(token)).thenReturn(jwt(token, NOW.plus(Duration.ofHours(8))));
+            decoder.decode(token);
+        }
+
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("security.jwt.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("student")
+                .issuedAt(NOW)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.config.ChangeFeedProperties;
+import be.ucll.se.courses.backend.controller.dto.ChangeEvent;
+import be.ucll.se.courses.backend.model.Assignment;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.Schedule;
+import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import be.ucll.se.courses.backend.service.ChangeFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChangeFeedTest {
+    private ChangeFeed changeFeed;
+    private Schedule alexSchedule;
+    private Schedule sarahSchedule;
+
+    @BeforeEach
+    void setUp() {
+        final var scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findLecturerUsername(1L)).thenReturn(Optional.of("alex"));
+        when(scheduleRepository.findLecturerUsername(2L)).thenReturn(Optional.of("sarah"));
+        changeFeed = new ChangeFeed(scheduleRepository,
+                new ChangeFeedProperties(Duration.ofHours(1), Duration.ofHours(1), 16));
+        alexSchedule = schedule(1L);
+        sarahSchedule = schedule(2L);
+    }
+
+    @Test
+    void subscribe_Lecturer_OnlyGetsEventsOfOwnSchedules() {
+        StepVerifier.create(events(user("alex", Role.LECTURER)))
+                .then(() -> {
+                    changeFeed.scheduleCreated(sarahSchedule);
+                    changeFeed.studentsEnrolled(1L, List.of(7L, 8L));
+                })
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("students-enrolled");
+                    assertThat(event.data().scheduleId()).isEqualTo(1L);
+                    assertThat(event.data().studentIds()).containsExactly(7L, 8L);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscribe_Student_DoesNotGetUnpublishedAssignments() {
+        final var assignment = new Assignment("Lab", "Lab assignment", Instant.now(), alexSchedule);
+        assignment.setId(3L);
+
+        StepVerifier.create(events(user("jane", Role.STUDENT)))
+                .then(() -> {
+                    changeFeed.assignmentChanged(assignment, false);
+                    assignment.setPublished(true);
+                    changeFeed.assignmentChanged(assignment, false);
+                })
+                .assertNext(event -> {
+                    assertThat(event.data().type()).isEqualTo(ChangeEvent.Type.ASSIGNMENT_PUBLISHED);
+                    assertThat(event.data().assignmentId()).isEqualTo(3L);
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        assertThat(changeFeed.getSubscribers()).isZero();
+    }
+
+    private Flux<ServerSentEvent<ChangeEvent>> events(Authentication authentication) {
+        // Skip the "connected" comment
+        return changeFeed.subscribe(authentication).filter(event -> event.data() != null);
+    }
+
+    private static Authentication user(String username, Role role) {
+        return new TestingAuthenticationToken(username, null, List.of(role.toGrantedAuthority()));
+    }
+
+    private static Schedule schedule(long id) {
+        final var schedule = mock(Schedule.class);
+        when(schedule.getId()).thenReturn(id);
+        return schedule;
+    }
+}
@@ -0,0 +1,63 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.Course;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.User;
+import be.ucll.se.courses.backend.repository.CourseRepository;
+import be.ucll.se.courses.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = { "password-hashing.bcrypt-cost=4", "password-hashing.min-cost=4" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class DatabaseResetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Waits for the background seeding, which captures the snapshot
+        resetDatabase();
+    }
+
+    @Test
+    void resetDatabase_AfterChanges_RestoresSeededRows() throws Exception {
+        final Course course = courseRepository.findAll().getFirst();
+        final var name = course.getName();
+        final long courses = courseRepository.count();
+        course.setName("Renamed during test");
+        courseRepository.save(course);
+        courseRepository.save(new Course("Added during test", "Not part of the seed", 1, 3));
+        userRepository.save(new User(
+                "reset.added", "Reset", "Added", "reset.added@example.com", "password", Role.STUDENT));
+
+        resetDatabase();
+
+        // Read through the second-level cache, which must not keep the renamed course
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getName()).isEqualTo(name);
+        assertThat(courseRepository.count()).isEqualTo(courses);
+        assertThat(userRepository.findByUsername("reset.added")).isEmpty();
+        assertThat(userRepository.findByUsername("admin")).isPresent();
+    }
+
+    private void resetDatabase() throws Exception {
+        mockMvc.perform(post("/test-utils/reset-database")).andExpect(status().isOk());
+    }
+}
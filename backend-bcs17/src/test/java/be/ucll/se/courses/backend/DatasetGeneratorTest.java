@@ -0,0 +1,104 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.User;
+import be.ucll.se.courses.backend.repository.DbInitializer;
+import be.ucll.se.courses.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "password-hashing.bcrypt-cost=4",
+        "password-hashing.min-cost=4",
+        "dataset.enabled=true",
+        "dataset.students=300",
+        "dataset.lecturers=20",
+        "dataset.courses=30",
+        "dataset.schedules=110",
+        "dataset.assignments=400",
+        "dataset.students-per-schedule=12",
+        "dataset.batch-size=50"
+})
+public class DatasetGeneratorTest {
+    private static final String ENROLLMENTS = """
+            SELECT u.username, s."start", c.name, st.student_number
+            FROM schedule s
+            JOIN course c ON c.id = s.course_id
+            JOIN lecturer l ON l.id = s.lecturer_id
+            JOIN "user" u ON u.id = l.user_id
+            JOIN schedule_students ss ON ss.schedule_id = s.id
+            JOIN student st ON st.id = ss.student_id
+            ORDER BY u.username, s."start", st.student_number""";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DbInitializer dbInitializer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        dbInitializer.init();
+    }
+
+    @Test
+    void generate_AddsConfiguredRowsNextToSeed() {
+        // 4 lecturers and 6 students are seeded
+        assertThat(count("SELECT COUNT(*) FROM lecturer")).isEqualTo(4 + 20);
+        assertThat(count("SELECT COUNT(*) FROM student")).isEqualTo(6 + 300);
+        assertThat(count("SELECT COUNT(*) FROM schedule")).isEqualTo(4 + 110);
+        assertThat(count("SELECT COUNT(*) FROM assignment")).isEqualTo(4 + 400);
+        assertThat(count("SELECT COUNT(*) FROM schedule_students")).isEqualTo(4 + 110 * 12);
+    }
+
+    @Test
+    void generate_KeepsLecturersFreeOfConflicts() {
+        // The seed has a lecturer teaching two courses at once, so only the
+        // generated lecturers, which get the highest ids, are checked
+        assertThat(count("""
+                SELECT COUNT(*) FROM schedule a JOIN schedule b
+                ON a.lecturer_id = b.lecturer_id AND a.id < b.id
+                AND (a.course_id = b.course_id OR (a."start" < b."end" AND b."start" < a."end"))
+                WHERE a.lecturer_id IN (SELECT id FROM lecturer ORDER BY id DESC LIMIT 20)""")).isZero();
+    }
+
+    @Test
+    void generate_SameSeed_GeneratesSameData() {
+        final List<Map<String, Object>> first = jdbcTemplate.queryForList(ENROLLMENTS);
+
+        dbInitializer.init();
+
+        assertThat(jdbcTemplate.queryForList(ENROLLMENTS)).isEqualTo(first);
+    }
+
+    @Test
+    void generate_LeavesIdsFreeForHibernate() {
+        // More than one range of ids, so Hibernate also reserves a new one from the sequence
+        final var users = new ArrayList<User>();
+        for (int i = 0; i < 60; i++) {
+            users.add(new User("dataset.after." + i, "Dataset", "After", "dataset.after." + i + "@example.com",
+                    "password", Role.STUDENT));
+        }
+        try {
+            assertThat(userRepository.saveAll(users)).hasSize(60);
+        } finally {
+            userRepository.deleteAll(users);
+        }
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,152 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.EnrollmentInput;
+import be.ucll.se.courses.backend.controller.dto.EnrollmentResult;
+import be.ucll.se.courses.backend.exception.NotFoundException;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import be.ucll.se.courses.backend.service.ScheduleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Enrolls the same cohort from several requests at once. Not transactional:
+ * every enrollment has to commit on its own for the schedule's lock to be
+ * exercised.
+ */
+@SpringBootTest
+public class EnrollmentConcurrencyTest {
+    private static final int STUDENTS = 50;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private Course course;
+    private Lecturer lecturer;
+    private Schedule schedule;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        final var start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        course = courseRepository.save(new Course("Enrollment Course", "Course for concurrent enrollments", 1, 3));
+        final var lecturerUser = userRepository.save(new User(
+                "enrollment.lecturer",
+                "Enrollment",
+                "Lecturer",
+                "enrollment.lecturer@example.com",
+                "password",
+                Role.LECTURER));
+        users.add(lecturerUser);
+        lecturer = lecturerRepository.save(new Lecturer("Cohorts", lecturerUser));
+        schedule = scheduleRepository.save(new Schedule(start, start.plus(2, ChronoUnit.HOURS), course, lecturer));
+
+        final var studentUsers = new ArrayList<User>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentUsers.add(new User(
+                    "enrollment.student." + i,
+                    "Enrollment",
+                    "Student " + i,
+                    "enrollment.student." + i + "@example.com",
+                    "password",
+                    Role.STUDENT));
+        }
+        users.addAll(userRepository.saveAll(studentUsers));
+        final var newStudents = new ArrayList<Student>();
+        for (int i = 0; i < STUDENTS; i++) {
+            newStudents.add(new Student("e" + i, users.get(i + 1)));
+        }
+        students.addAll(studentRepository.saveAll(newStudents));
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        scheduleRepository.deleteById(schedule.getId());
+        studentRepository.deleteAllInBatch(students);
+        lecturerRepository.deleteById(lecturer.getId());
+        userRepository.deleteAllInBatch(users);
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void enrollAll_SameCohortInParallel_EnrollsEveryStudentOnce() throws Exception {
+        final var input = new EnrollmentInput(new EnrollmentInput.Schedule(schedule.getId()),
+                students.stream().map(student -> new EnrollmentInput.Student(student.getId())).toList());
+        final var tasks = new ArrayList<Callable<EnrollmentResult>>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> scheduleService.enrollAll(input));
+        }
+
+        final var enrolledTimes = new HashMap<Long, Integer>();
+        for (Future<EnrollmentResult> future : executor.invokeAll(tasks)) {
+            for (final var student : future.get().students()) {
+                if (student.status() == EnrollmentResult.Status.ENROLLED) {
+                    enrolledTimes.merge(student.id(), 1, Integer::sum);
+                } else {
+                    assertThat(student.status()).isEqualTo(EnrollmentResult.Status.ALREADY_ENROLLED);
+                }
+            }
+        }
+
+        assertThat(enrolledTimes).hasSize(STUDENTS).allSatisfy((id, times) -> assertThat(times).isEqualTo(1));
+        assertThat(scheduleRepository.findEnrolledStudentIds(schedule.getId(),
+                students.stream().map(Student::getId).toList())).hasSize(STUDENTS);
+    }
+
+    @Test
+    void enroll_UnknownStudent_IsNotCounted() {
+        final var batches = meterRegistry.find("enrollment.batch.size").summary();
+        final long before = batches.count();
+
+        assertThatThrownBy(() -> scheduleService.enroll(new EnrollmentInput(
+                new EnrollmentInput.Schedule(schedule.getId()),
+                List.of(new EnrollmentInput.Student(students.getFirst().getId()), new EnrollmentInput.Student(-1)))))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(batches.count()).isEqualTo(before);
+
+        scheduleService.enroll(new EnrollmentInput(new EnrollmentInput.Schedule(schedule.getId()),
+                List.of(new EnrollmentInput.Student(students.getFirst().getId()))));
+        assertThat(batches.count()).isEqualTo(before + 1);
+    }
+}
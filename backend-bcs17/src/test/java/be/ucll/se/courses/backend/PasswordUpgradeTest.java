@@ -0,0 +1,90 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.AuthenticationRequest;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.User;
+import be.ucll.se.courses.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = { "password-hashing.bcrypt-cost=5", "password-hashing.min-cost=5" })
+@AutoConfigureMockMvc
+@Transactional
+public class PasswordUpgradeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void login_HashWithLowerCost_IsRehashedWithConfiguredCost() throws Exception {
+        // A hash from before the {bcrypt} prefix, with a lower cost
+        createUser("upgrade.legacy", new BCryptPasswordEncoder(4).encode("secret"));
+
+        login("upgrade.legacy", "secret");
+
+        final var upgraded = storedPassword("upgrade.legacy");
+        assertThat(upgraded).startsWith("{bcrypt}$2a$05$");
+
+        // Logging in again works and leaves the new hash alone
+        login("upgrade.legacy", "secret");
+        assertThat(storedPassword("upgrade.legacy")).isEqualTo(upgraded);
+    }
+
+    @Test
+    void login_HashWithConfiguredCost_IsKept() throws Exception {
+        final var hash = "{bcrypt}" + new BCryptPasswordEncoder(5).encode("secret");
+        createUser("upgrade.current", hash);
+
+        login("upgrade.current", "secret");
+
+        assertThat(storedPassword("upgrade.current")).isEqualTo(hash);
+    }
+
+    @Test
+    void login_HashWithHigherCost_IsKept() throws Exception {
+        final var hash = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret");
+        createUser("upgrade.stronger", hash);
+
+        login("upgrade.stronger", "secret");
+
+        assertThat(storedPassword("upgrade.stronger")).isEqualTo(hash);
+    }
+
+    private void createUser(String username, String password) {
+        userRepository.saveAndFlush(new User(
+                username, "Upgrade", "User", username + "@example.com", password, Role.STUDENT));
+    }
+
+    private void login(String username, String password) throws Exception {
+        mockMvc.perform(post("/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthenticationRequest(username, password))))
+                .andExpect(status().isOk());
+    }
+
+    private String storedPassword(String username) {
+        return jdbcTemplate.queryForObject(
+                "SELECT password FROM \"user\" WHERE username = ?", String.class, username);
+    }
+}
@@ -0,0 +1,241 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The number of statements each read endpoint prepares, with empty caches,
+ * once with 10 and once with 1000 rows behind it. The count must be the same
+ * both times and equal the endpoint's budget, so an association that starts
+ * to be loaded per row fails here instead of in production, and a change that
+ * saves a statement has to lower the budget.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+@WithMockUser(roles = "ADMIN")
+public class QueryBudgetTest {
+    private static final int FEW_ROWS = 10;
+    private static final int MANY_ROWS = 1000;
+    private static final int ASSIGNMENTS_PER_SCHEDULE = 10;
+
+    /**
+     * Statements per request as measured, validators included. A schedule
+     * needs one for itself and its to-one associations and one batch each for
+     * its students and its lecturer's courses. A single lecturer is checked
+     * for existence before its validator is read.
+     */
+    private static final Map<String, Long> BUDGETS = Map.of(
+            "GET /schedules", 3L,
+            "GET /lecturers", 2L,
+            "GET /lecturers/{id}", 4L,
+            "GET /students", 2L,
+            "GET /users", 1L,
+            "GET /assignments", 3L,
+            "GET /assignments/{id}", 3L,
+            "GET /assignments/schedule/{scheduleId}", 3L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private Long courseId;
+    private Long lecturerId;
+    private Long scheduleId;
+    private final List<Long> studentIds = new ArrayList<>();
+    private Instant baseTime;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        baseTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        courseId = courseRepository.save(new Course("Budget Course", "Course for statement budgets", 1, 3)).getId();
+        lecturerId = createLecturer().getId();
+        for (int i = 0; i < 3; i++) {
+            studentIds.add(createStudent().getId());
+        }
+        scheduleId = createSchedule().getId();
+    }
+
+    @Test
+    void getSchedules_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /schedules", rows -> repeat(rows, this::createSchedule),
+                () -> get("/schedules").param("courseId", String.valueOf(courseId)));
+    }
+
+    @Test
+    void getLecturers_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /lecturers", rows -> repeat(rows, this::createLecturer),
+                () -> get("/lecturers"));
+    }
+
+    @Test
+    void getLecturerById_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /lecturers/{id}", rows -> repeat(rows, this::createLecturer),
+                () -> get("/lecturers/{id}", lecturerId));
+    }
+
+    @Test
+    void getStudents_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /students", rows -> repeat(rows, this::createStudent),
+                () -> get("/students"));
+    }
+
+    @Test
+    void getUsers_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /users", rows -> repeat(rows, () -> createUser("user", Role.STUDENT)),
+                () -> get("/users"));
+    }
+
+    @Test
+    void getAssignments_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /assignments", rows -> {
+            for (int i = 0; i < rows; i += ASSIGNMENTS_PER_SCHEDULE) {
+                final var schedule = createSchedule();
+                repeat(ASSIGNMENTS_PER_SCHEDULE, () -> createAssignment(schedule));
+            }
+        }, () -> get("/assignments"));
+    }
+
+    @Test
+    void getAssignmentById_StaysWithinBudget() throws Exception {
+        final var assignmentId = createAssignment(scheduleRepository.getReferenceById(scheduleId)).getId();
+        assertWithinBudget("GET /assignments/{id}", rows -> repeat(rows, this::createScheduleAssignment),
+                () -> get("/assignments/{id}", assignmentId));
+    }
+
+    @Test
+    void getAssignmentsBySchedule_StaysWithinBudget() throws Exception {
+        assertWithinBudget("GET /assignments/schedule/{scheduleId}",
+                rows -> repeat(rows, this::createScheduleAssignment),
+                () -> get("/assignments/schedule/{scheduleId}", scheduleId));
+    }
+
+    private void assertWithinBudget(String endpoint, IntConsumer addRows,
+            Supplier<MockHttpServletRequestBuilder> request) throws Exception {
+        addRows.accept(FEW_ROWS);
+        final long fewRows = countStatements(request.get());
+
+        addRows.accept(MANY_ROWS - FEW_ROWS);
+        final long manyRows = countStatements(request.get());
+
+        assertThat(manyRows)
+                .as("statements for %s with %d rows, compared to %d rows", endpoint, MANY_ROWS, FEW_ROWS)
+                .isEqualTo(fewRows);
+        assertThat(manyRows)
+                .as("statements for %s", endpoint)
+                .isEqualTo(BUDGETS.get(endpoint));
+    }
+
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        // Make sure the request has to load everything from the database
+        entityManager.flush();
+        entityManager.clear();
+        final var sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+
+        final Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static void repeat(int times, Runnable create) {
+        for (int i = 0; i < times; i++) {
+            create.run();
+        }
+    }
+
+    private User createUser(String kind, Role role) {
+        final int number = sequence++;
+        return userRepository.save(new User(
+                "budget." + kind + "." + number,
+                "Budget",
+                kind + " " + number,
+                "budget." + kind + "." + number + "@example.com",
+                "password",
+                role));
+    }
+
+    private Lecturer createLecturer() {
+        final var lecturer = lecturerRepository.save(
+                new Lecturer("Statement budgets", createUser("lecturer", Role.LECTURER)));
+        courseRepository.getReferenceById(courseId).addLecturer(lecturer);
+        return lecturer;
+    }
+
+    private Student createStudent() {
+        final var user = createUser("student", Role.STUDENT);
+        return studentRepository.save(new Student("b" + user.getId(), user));
+    }
+
+    private Schedule createSchedule() {
+        final int number = sequence++;
+        final var schedule = new Schedule(
+                baseTime.plus(number, ChronoUnit.HOURS),
+                baseTime.plus(number + 1, ChronoUnit.HOURS),
+                courseRepository.getReferenceById(courseId),
+                lecturerRepository.getReferenceById(lecturerId));
+        studentIds.forEach(studentId -> schedule.addStudent(studentRepository.getReferenceById(studentId)));
+        return scheduleRepository.save(schedule);
+    }
+
+    private Assignment createAssignment(Schedule schedule) {
+        final int number = sequence++;
+        return assignmentRepository.save(new Assignment(
+                "Budget assignment " + number,
+                "Assignment for statement budgets",
+                baseTime.plus(number, ChronoUnit.DAYS),
+                schedule));
+    }
+
+    private void createScheduleAssignment() {
+        createAssignment(scheduleRepository.getReferenceById(scheduleId));
+    }
+}
@@ -0,0 +1,70 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.Student;
+import be.ucll.se.courses.backend.model.User;
+import be.ucll.se.courses.backend.repository.StudentRepository;
+import be.ucll.se.courses.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "query-stats.sample-rate=1")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+public class QueryStatsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void querystats_AfterRequests_ReportsStatementsPerHandler() throws Exception {
+        final var user = userRepository.save(new User(
+                "query.stats.student", "Query", "Stats", "query.stats.student@example.com", "password",
+                Role.STUDENT));
+        studentRepository.save(new Student("qs1", user));
+
+        mockMvc.perform(get("/students")).andExpect(status().isOk());
+        mockMvc.perform(get("/students")).andExpect(status().isOk());
+
+        final var result = mockMvc.perform(get("/actuator/querystats"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final JsonNode report = objectMapper.readTree(result.getResponse().getContentAsString());
+        final JsonNode students = StreamSupport.stream(report.get("handlers").spliterator(), false)
+                .filter(handler -> handler.get("handler").asText().equals("StudentController.getAllStudents"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(students.get("requests").asLong()).isEqualTo(2);
+        // The validator and the students with their users
+        assertThat(students.get("maxStatements").asInt()).isGreaterThanOrEqualTo(2);
+        assertThat(students.get("meanJdbcMillis").asDouble()).isPositive();
+    }
+
+    @Test
+    @WithMockUser(roles = "LECTURER")
+    void querystats_NotAdmin_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/querystats")).andExpect(status().isForbidden());
+    }
+}
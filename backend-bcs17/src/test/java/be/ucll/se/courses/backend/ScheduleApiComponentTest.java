@@ -11,18 +11,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -61,7 +71,7 @@ public class ScheduleApiComponentTest {
         // Clean up the database before each test
         scheduleRepository.deleteAll();
 
-        baseTime = Instant.now();
+        baseTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
         testCourse = new Course(
                 "Component Test Course",
                 "Course for component testing",
@@ -202,4 +212,235 @@ public class ScheduleApiComponentTest {
                 .content(objectMapper.writeValueAsString(enrollmentInput)))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void enrollAll_MixedInput_ReportsOutcomePerStudent() throws Exception {
+        Schedule schedule = new Schedule(
+                baseTime,
+                baseTime.plus(2, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer);
+        schedule.addStudent(testStudent);
+        schedule = scheduleRepository.save(schedule);
+
+        User otherUser = userRepository.save(new User(
+                "component.test.other",
+                "Other",
+                "Tester",
+                "other.test@example.com",
+                "password",
+                Role.STUDENT));
+        Student otherStudent = studentRepository.save(new Student("r87654321", otherUser));
+
+        EnrollmentInput enrollmentInput = new EnrollmentInput(
+                new EnrollmentInput.Schedule(schedule.getId()),
+                List.of(new EnrollmentInput.Student(testStudent.getId()),
+                        new EnrollmentInput.Student(otherStudent.getId()),
+                        new EnrollmentInput.Student(999L)));
+        mockMvc.perform(post("/schedules/enroll/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(enrollmentInput)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scheduleId").value(schedule.getId()))
+                .andExpect(jsonPath("$.students[0].status").value("already_enrolled"))
+                .andExpect(jsonPath("$.students[1].status").value("enrolled"))
+                .andExpect(jsonPath("$.students[2].status").value("unknown_student"));
+
+        Schedule updatedSchedule = scheduleRepository.findById(schedule.getId()).orElseThrow();
+        assertThat(updatedSchedule.getStudents()).containsExactlyInAnyOrder(testStudent, otherStudent);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createSchedule_LecturerAlreadyTeaching_ReturnsConflicts() throws Exception {
+        Schedule existingSchedule = scheduleRepository.save(new Schedule(
+                baseTime,
+                baseTime.plus(2, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer));
+        Course otherCourse = courseRepository.save(new Course(
+                "Other Component Test Course",
+                "Another course for component testing",
+                1,
+                3));
+
+        ScheduleInput overlappingInput = new ScheduleInput(
+                baseTime.plus(1, ChronoUnit.HOURS),
+                baseTime.plus(3, ChronoUnit.HOURS),
+                new ScheduleInput.Course(otherCourse.getId()),
+                new ScheduleInput.Lecturer(testLecturer.getId()));
+        mockMvc.perform(post("/schedules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(overlappingInput)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.conflicts[0].scheduleId").value(existingSchedule.getId()));
+
+        ScheduleInput laterInput = new ScheduleInput(
+                baseTime.plus(2, ChronoUnit.HOURS),
+                baseTime.plus(4, ChronoUnit.HOURS),
+                new ScheduleInput.Course(otherCourse.getId()),
+                new ScheduleInput.Lecturer(testLecturer.getId()));
+        mockMvc.perform(post("/schedules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(laterInput)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void enrollAll_StudentInOverlappingSchedule_ReportsClash() throws Exception {
+        Schedule morning = new Schedule(
+                baseTime,
+                baseTime.plus(2, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer);
+        morning.addStudent(testStudent);
+        morning = scheduleRepository.save(morning);
+        Schedule overlapping = scheduleRepository.save(new Schedule(
+                baseTime.plus(1, ChronoUnit.HOURS),
+                baseTime.plus(3, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer));
+
+        EnrollmentInput enrollmentInput = new EnrollmentInput(
+                new EnrollmentInput.Schedule(overlapping.getId()),
+                List.of(new EnrollmentInput.Student(testStudent.getId())));
+        mockMvc.perform(post("/schedules/enroll/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(enrollmentInput)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.students[0].status").value("enrolled"))
+                .andExpect(jsonPath("$.students[0].clashes[0].scheduleId").value(morning.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = "component.test.lecturer", roles = "LECTURER")
+    void getCalendar_UnchangedTimetable_ReturnsNotModified() throws Exception {
+        scheduleRepository.save(new Schedule(
+                baseTime,
+                baseTime.plus(2, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer));
+
+        MvcResult firstResult = mockMvc.perform(get("/schedules/calendar.ics"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String etag = firstResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/schedules/calendar.ics")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * The calendar is streamed on another thread, which only sees committed
+     * rows, so this test commits its data and removes it again.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @WithMockUser(username = "component.test.lecturer", roles = "LECTURER")
+    void getCalendar_EventWithSpecialCharacters_IsEscapedAndFolded() throws Exception {
+        Course course = courseRepository.save(new Course(
+                "Algorithms, Data; Structures",
+                "Sorting\nand searching in " + "very ".repeat(20) + "large arrays",
+                1,
+                6));
+        try {
+            Schedule schedule = scheduleRepository.save(new Schedule(
+                    baseTime,
+                    baseTime.plus(2, ChronoUnit.HOURS),
+                    course,
+                    testLecturer));
+
+            MvcResult asyncResult = mockMvc.perform(get("/schedules/calendar.ics"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            assertThat(body).startsWith("BEGIN:VCALENDAR\r\n").endsWith("END:VCALENDAR\r\n");
+            assertThat(body.replace("\r\n", "")).doesNotContain("\n");
+            for (String line : body.split("\r\n")) {
+                assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+            }
+            String unfolded = body.replace("\r\n ", "");
+            assertThat(unfolded)
+                    .contains("UID:schedule-" + schedule.getId() + "@courses\r\n")
+                    .contains("SUMMARY:Algorithms\\, Data\\; Structures\r\n")
+                    .contains("DESCRIPTION:Sorting\\nand searching in " + "very ".repeat(20)
+                            + "large arrays\\nLecturer: Component Tester\r\n");
+        } finally {
+            scheduleRepository.deleteAll();
+            courseRepository.deleteById(course.getId());
+            courseRepository.deleteById(testCourse.getId());
+            studentRepository.deleteById(testStudent.getId());
+            lecturerRepository.deleteById(testLecturer.getId());
+            userRepository.deleteAllById(List.of(testLecturer.getUser().getId(), testStudent.getUser().getId()));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "component.test.lecturer", roles = "LECTURER")
+    void getCalendar_CourseRenamed_ReturnsNewCalendar() throws Exception {
+        scheduleRepository.save(new Schedule(
+                baseTime,
+                baseTime.plus(2, ChronoUnit.HOURS),
+                testCourse,
+                testLecturer));
+        String etag = mockMvc.perform(get("/schedules/calendar.ics"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // The rename must get a later timestamp than the schedule
+        Thread.sleep(5);
+        testCourse.setName("Renamed Component Test Course");
+        courseRepository.saveAndFlush(testCourse);
+
+        mockMvc.perform(get("/schedules/calendar.ics")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLecturers_Revalidated_ReturnsNotModifiedUntilLecturersChange() throws Exception {
+        String etag = mockMvc.perform(get("/lecturers"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/lecturers")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        lecturerRepository.save(new Lecturer("Revalidation", userRepository.save(new User(
+                "component.test.other", "Other", "Lecturer", "other.test@example.com", "password",
+                Role.LECTURER))));
+
+        mockMvc.perform(get("/lecturers")
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getCourseById_Revalidated_ReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/courses/{id}", testCourse.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Component Test Course"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/courses/{id}", testCourse.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/courses/{id}", -1))
+                .andExpect(status().isNotFound());
+    }
+}
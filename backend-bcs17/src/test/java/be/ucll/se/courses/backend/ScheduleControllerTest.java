@@ -2,13 +2,16 @@ package be.ucll.se.courses.backend;
 
 import be.ucll.se.courses.backend.controller.ScheduleController;
 import be.ucll.se.courses.backend.controller.dto.EnrollmentInput;
+import be.ucll.se.courses.backend.controller.dto.ScheduleFilter;
 import be.ucll.se.courses.backend.controller.dto.ScheduleInput;
+import be.ucll.se.courses.backend.controller.dto.SchedulePage;
 // import be.ucll.se.courses.backend.controller.dto.ScheduleInput.Course;
 import be.ucll.se.courses.backend.exception.CoursesException;
 import be.ucll.se.courses.backend.exception.NotFoundException;
 import be.ucll.se.courses.backend.model.Schedule;
 import be.ucll.se.courses.backend.model.Course;
 import be.ucll.se.courses.backend.model.Lecturer;
+import be.ucll.se.courses.backend.repository.DataVersion;
 import be.ucll.se.courses.backend.service.ScheduleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +37,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -79,6 +83,8 @@ public class ScheduleControllerTest {
         validEnrollmentInput = new EnrollmentInput(
                 new EnrollmentInput.Schedule(1L),
                 List.of(new EnrollmentInput.Student(1L)));
+
+        when(scheduleService.getVersion(any(SchedulePage.class))).thenReturn(new DataVersion(1L, now));
     }
 
     @Test
@@ -86,14 +92,15 @@ public class ScheduleControllerTest {
     void getSchedules_AsAdmin_ReturnsAllSchedules() throws Exception {
 
         List<Schedule> schedules = List.of(testSchedule);
-        when(scheduleService.getSchedules(any(Authentication.class))).thenReturn(schedules);
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
+                .thenReturn(new SchedulePage(schedules, null));
 
         mockMvc.perform(get("/schedules")
                 .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(scheduleService).getSchedules(any(Authentication.class));
+        verify(scheduleService).getSchedules(any(Authentication.class), any(ScheduleFilter.class));
     }
 
     @Test
@@ -101,42 +108,76 @@ public class ScheduleControllerTest {
     void getSchedules_AsStudent_ReturnsStudentSchedules() throws Exception {
 
         List<Schedule> schedules = List.of(testSchedule);
-        when(scheduleService.getSchedules(any(Authentication.class))).thenReturn(schedules);
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
+                .thenReturn(new SchedulePage(schedules, null));
 
         mockMvc.perform(get("/schedules")
                 .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(scheduleService).getSchedules(any(Authentication.class));
+        verify(scheduleService).getSchedules(any(Authentication.class), any(ScheduleFilter.class));
     }
 
     @Test
     @WithMockUser(roles = "STUDENT")
     void getSchedules_ServiceThrowsAccessDenied_ReturnsUnauthorized() throws Exception {
 
-        when(scheduleService.getSchedules(any(Authentication.class)))
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
                 .thenThrow(new AccessDeniedException("Access denied"));
 
         mockMvc.perform(get("/schedules")
                 .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_STUDENT"))))
                 .andExpect(status().isForbidden());
 
-        verify(scheduleService).getSchedules(any(Authentication.class));
+        verify(scheduleService).getSchedules(any(Authentication.class), any(ScheduleFilter.class));
     }
 
     @Test
     @WithMockUser(roles = "ADMIN")
     void getSchedules_ServiceReturnsEmpty_ReturnsEmptyList() throws Exception {
 
-        when(scheduleService.getSchedules(any(Authentication.class))).thenReturn(Collections.emptyList());
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
+                .thenReturn(new SchedulePage(Collections.emptyList(), null));
 
         mockMvc.perform(get("/schedules")
                 .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
 
-        verify(scheduleService).getSchedules(any(Authentication.class));
+        verify(scheduleService).getSchedules(any(Authentication.class), any(ScheduleFilter.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSchedules_WithMorePages_ReturnsNextCursorHeader() throws Exception {
+
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
+                .thenReturn(new SchedulePage(List.of(testSchedule), "next-page"));
+
+        mockMvc.perform(get("/schedules")
+                .param("courseId", "1")
+                .param("limit", "1")
+                .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ScheduleController.NEXT_CURSOR_HEADER, "next-page"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(scheduleService).getSchedules(any(Authentication.class),
+                eq(new ScheduleFilter(1L, null, null, null, null, null, 1)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSchedules_LastPage_OmitsNextCursorHeader() throws Exception {
+
+        when(scheduleService.getSchedules(any(Authentication.class), any(ScheduleFilter.class)))
+                .thenReturn(new SchedulePage(List.of(testSchedule), null));
+
+        mockMvc.perform(get("/schedules")
+                .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ScheduleController.NEXT_CURSOR_HEADER));
     }
 
     @Test
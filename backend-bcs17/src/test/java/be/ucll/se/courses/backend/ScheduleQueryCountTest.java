@@ -0,0 +1,188 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.ScheduleInput;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Transactional
+public class ScheduleQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    private Course testCourse;
+    private Lecturer queryLecturer;
+    private Instant baseTime;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        baseTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        testCourse = courseRepository.save(new Course(
+                "Query Count Course",
+                "Course for statement counting",
+                1,
+                3));
+        queryLecturer = createLecturer();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getSchedules_AsAdmin_StatementCountDoesNotGrowWithSchedules() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createSchedule(createLecturer());
+        }
+        final long fewSchedules = countStatementsForGetSchedules();
+
+        for (int i = 0; i < 30; i++) {
+            createSchedule(createLecturer());
+        }
+        final long manySchedules = countStatementsForGetSchedules();
+
+        assertThat(manySchedules).isEqualTo(fewSchedules);
+    }
+
+    @Test
+    @WithMockUser(username = "query.count.lecturer.0", roles = "LECTURER")
+    void getSchedules_AsLecturer_StatementCountDoesNotGrowWithSchedules() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createSchedule(queryLecturer);
+        }
+        final long fewSchedules = countStatementsForGetSchedules();
+
+        for (int i = 0; i < 30; i++) {
+            createSchedule(queryLecturer);
+        }
+        final long manySchedules = countStatementsForGetSchedules();
+
+        assertThat(manySchedules).isEqualTo(fewSchedules);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createSchedule_NoConflict_IsCheckedWithoutQueryingSchedules() throws Exception {
+        // Loads the lecturer's schedules into the index
+        postSchedule(testCourse, 0);
+        final var otherCourse = courseRepository.save(new Course(
+                "Other Query Count Course",
+                "Another course for statement counting",
+                1,
+                3));
+
+        final Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        postSchedule(otherCourse, 2);
+
+        assertThat(statistics.getQueries()).noneMatch(query -> query.contains("schedule.start < :end"));
+    }
+
+    private void postSchedule(Course course, int hours) throws Exception {
+        final var input = new ScheduleInput(
+                baseTime.plus(hours, ChronoUnit.HOURS),
+                baseTime.plus(hours + 2, ChronoUnit.HOURS),
+                new ScheduleInput.Course(course.getId()),
+                new ScheduleInput.Lecturer(queryLecturer.getId()));
+        mockMvc.perform(post("/schedules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isOk());
+    }
+
+    private long countStatementsForGetSchedules() throws Exception {
+        // Make sure the request has to load everything from the database
+        entityManager.flush();
+        entityManager.clear();
+
+        final Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/schedules")
+                .param("courseId", String.valueOf(testCourse.getId())))
+                .andExpect(status().isOk());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Lecturer createLecturer() {
+        final int number = sequence++;
+        final var user = userRepository.save(new User(
+                "query.count.lecturer." + number,
+                "Query",
+                "Lecturer " + number,
+                "query.count.lecturer." + number + "@example.com",
+                "password",
+                Role.LECTURER));
+        final var lecturer = lecturerRepository.save(new Lecturer("Statement counting", user));
+        testCourse.addLecturer(lecturer);
+        testCourse = courseRepository.save(testCourse);
+        return lecturer;
+    }
+
+    private void createSchedule(Lecturer lecturer) {
+        final int number = sequence++;
+        final var schedule = new Schedule(
+                baseTime.plus(number, ChronoUnit.HOURS),
+                baseTime.plus(number + 1, ChronoUnit.HOURS),
+                testCourse,
+                lecturer);
+        for (int i = 0; i < 2; i++) {
+            final var user = userRepository.save(new User(
+                    "query.count.student." + number + "." + i,
+                    "Query",
+                    "Student " + number,
+                    "query.count.student." + number + "." + i + "@example.com",
+                    "password",
+                    Role.STUDENT));
+            schedule.addStudent(studentRepository.save(new Student("q" + number + "." + i, user)));
+        }
+        scheduleRepository.save(schedule);
+    }
+}
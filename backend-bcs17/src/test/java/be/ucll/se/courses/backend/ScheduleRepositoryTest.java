@@ -3,12 +3,14 @@ package be.ucll.se.courses.backend;
 import be.ucll.se.courses.backend.model.*;
 import be.ucll.se.courses.backend.repository.CourseRepository;
 import be.ucll.se.courses.backend.repository.ScheduleRepository;
+import be.ucll.se.courses.backend.repository.ScheduleSpecifications;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -36,7 +38,7 @@ public class ScheduleRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        baseTime = Instant.now();
+        baseTime = Instant.now().truncatedTo(ChronoUnit.MILLIS);
 
         lecturerUser = new User(
                 "test.lecturer",
@@ -192,4 +194,22 @@ public class ScheduleRepositoryTest {
         assertThat(overlappingSchedules).hasSize(1);
         assertThat(overlappingSchedules.get(0).getId()).isEqualTo(overlappingSchedule.getId());
     }
+
+    @Test
+    void findBy_AfterKeyset_ReturnsNextSchedulesInStartOrder() {
+        Schedule first = new Schedule(baseTime, baseTime.plus(1, ChronoUnit.HOURS), course, lecturer);
+        entityManager.persist(first);
+        Schedule sameStart = new Schedule(baseTime, baseTime.plus(2, ChronoUnit.HOURS), course, lecturer);
+        entityManager.persist(sameStart);
+        Schedule later = new Schedule(baseTime.plus(3, ChronoUnit.HOURS), baseTime.plus(4, ChronoUnit.HOURS),
+                course, lecturer);
+        entityManager.persist(later);
+
+        Specification<Schedule> afterFirst = Specification.where(ScheduleSpecifications.hasCourse(course.getId()))
+                .and(ScheduleSpecifications.after(first.getStart(), first.getId()));
+        List<Schedule> page = scheduleRepository.findBy(afterFirst,
+                query -> query.sortBy(ScheduleSpecifications.KEYSET_ORDER).limit(1).all());
+
+        assertThat(page).extracting("id").containsExactly(sameStart.getId());
+    }
 }
@@ -0,0 +1,99 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private User user;
+    private Lecturer lecturer;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(new User(
+                "cache.lecturer", "Cache", "Lecturer", "cache.lecturer@example.com", "password", Role.LECTURER));
+        lecturer = lecturerRepository.save(new Lecturer("Caching", user));
+        course = new Course("Cached Course", "Course for second-level caching", 1, 3);
+        course.addLecturer(lecturer);
+        course = courseRepository.save(course);
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteById(course.getId());
+        lecturerRepository.deleteById(lecturer.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLecturers_Warm_IssuesNoSql() throws Exception {
+        mockMvc.perform(get("/lecturers")).andExpect(status().isOk());
+
+        statistics.clear();
+        mockMvc.perform(get("/lecturers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.expertise == 'Caching')].courses[*].name", hasItem("Cached Course")));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                .tag("region", Lecturer.class.getName())
+                .gauge()
+                .value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getLecturers_AfterUpdate_ReturnsUpdatedLecturer() throws Exception {
+        mockMvc.perform(get("/lecturers")).andExpect(status().isOk());
+
+        final var updated = lecturerRepository.findById(lecturer.getId()).orElseThrow();
+        updated.setExpertise("Cache invalidation");
+        lecturerRepository.save(updated);
+
+        mockMvc.perform(get("/lecturers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].expertise", hasItem("Cache invalidation")));
+    }
+}
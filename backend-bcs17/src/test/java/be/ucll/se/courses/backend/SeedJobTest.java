@@ -0,0 +1,56 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = { "password-hashing.bcrypt-cost=4", "password-hashing.min-cost=4" })
+@AutoConfigureMockMvc
+@ActiveProfiles("seed")
+public class SeedJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void seed_AfterStartup_CompletesAndReportsProgress() throws Exception {
+        final var deadline = Instant.now().plus(Duration.ofSeconds(30));
+        JsonNode progress = progress();
+        while (!progress.get("status").asText().equals("COMPLETED") && Instant.now().isBefore(deadline)) {
+            assertThat(progress.get("status").asText()).isNotEqualTo("FAILED");
+            Thread.sleep(50);
+            progress = progress();
+        }
+
+        assertThat(progress.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(progress.get("completedSteps").asInt()).isEqualTo(progress.get("totalSteps").asInt());
+        assertThat(userRepository.findByUsername("admin")).isPresent();
+    }
+
+    private JsonNode progress() throws Exception {
+        // Readable without logging in
+        final var result = mockMvc.perform(get("/actuator/seed"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,61 @@
+package be.ucll.se.courses.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "metrics.scraper.password={noop}scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@WithMockUser(roles = "ADMIN")
+public class ServiceMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceCall_ThrowingNotFound_IsTimedWithOutcome() throws Exception {
+        final double before = notFoundCourseVersions();
+
+        mockMvc.perform(get("/courses/{id}", -1)).andExpect(status().isNotFound());
+
+        assertThat(notFoundCourseVersions()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void prometheus_AfterServiceCall_ExposesServiceHistograms() throws Exception {
+        mockMvc.perform(get("/courses/{id}", -1)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("service_calls_seconds_bucket")))
+                .andExpect(content().string(containsString("outcome=\"not_found\"")));
+    }
+
+    @Test
+    void prometheus_WithoutScraperCredential_ReturnsForbidden() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+    }
+
+    private double notFoundCourseVersions() {
+        final var timer = meterRegistry.find("service.calls")
+                .tags("service", "CourseService", "method", "getCourseVersion", "outcome", "not_found")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
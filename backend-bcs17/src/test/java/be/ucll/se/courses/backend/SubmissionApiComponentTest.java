@@ -0,0 +1,131 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.SubmissionInput;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class SubmissionApiComponentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    private Assignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        final var start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var course = courseRepository.save(new Course("Submission Course", "Course for submissions", 1, 3));
+        final var lecturer = lecturerRepository.save(new Lecturer("Submissions", userRepository.save(new User(
+                "submission.lecturer", "Submission", "Lecturer", "submission.lecturer@example.com", "password",
+                Role.LECTURER))));
+        lecturerRepository.save(new Lecturer("Other schedules", userRepository.save(new User(
+                "submission.other.lecturer", "Other", "Lecturer", "submission.other.lecturer@example.com",
+                "password", Role.LECTURER))));
+        final var schedule = scheduleRepository.save(
+                new Schedule(start, start.plus(2, ChronoUnit.HOURS), course, lecturer));
+        assignment = assignmentRepository.save(new Assignment(
+                "Essay", "Write an essay", start.plus(1, ChronoUnit.DAYS), schedule));
+        for (final var name : new String[] { "alex", "sarah" }) {
+            schedule.addStudent(studentRepository.save(new Student("r-" + name, userRepository.save(new User(
+                    "submission." + name, "Student", name, "submission." + name + "@example.com", "password",
+                    Role.STUDENT)))));
+        }
+        studentRepository.save(new Student("r-outsider", userRepository.save(new User(
+                "submission.outsider", "Student", "outsider", "submission.outsider@example.com", "password",
+                Role.STUDENT))));
+    }
+
+    @Test
+    @WithMockUser(username = "submission.outsider", roles = "STUDENT")
+    void submit_StudentNotEnrolled_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/assignments/{id}/submissions", assignment.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SubmissionInput("My essay", SubmissionStatus.SUBMITTED))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "submission.sarah", roles = "STUDENT")
+    void getSubmissions_Student_ReturnsOnlyOwnSubmission() throws Exception {
+        submit("submission.alex");
+        submit("submission.sarah");
+
+        mockMvc.perform(get("/assignments/{id}/submissions", assignment.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].content").value("Essay of submission.sarah"));
+    }
+
+    @Test
+    @WithMockUser(username = "submission.lecturer", roles = "LECTURER")
+    void getSubmissions_LecturerOfAssignment_ReturnsAllSubmissions() throws Exception {
+        submit("submission.alex");
+        submit("submission.sarah");
+
+        mockMvc.perform(get("/assignments/{id}/submissions", assignment.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @WithMockUser(username = "submission.other.lecturer", roles = "LECTURER")
+    void getSubmissions_OtherLecturer_ReturnsForbidden() throws Exception {
+        submit("submission.alex");
+
+        mockMvc.perform(get("/assignments/{id}/submissions", assignment.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    private void submit(String username) throws Exception {
+        mockMvc.perform(post("/assignments/{id}/submissions", assignment.getId())
+                        .with(user(username).roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new SubmissionInput("Essay of " + username, SubmissionStatus.SUBMITTED))))
+                .andExpect(status().isCreated());
+    }
+}
@@ -0,0 +1,166 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.SubmissionInput;
+import be.ucll.se.courses.backend.exception.CoursesException;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import be.ucll.se.courses.backend.service.SubmissionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires parallel submissions at one assignment, the way they arrive right
+ * before a deadline. Not transactional: every submission has to commit on its
+ * own for the uniqueness guard to be exercised.
+ */
+@SpringBootTest
+public class SubmissionConcurrencyTest {
+    private static final int STUDENTS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private Course course;
+    private Lecturer lecturer;
+    private Schedule schedule;
+    private Assignment assignment;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        final var start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        course = courseRepository.save(new Course("Submission Course", "Course for concurrent submissions", 1, 3));
+        final var lecturerUser = userRepository.save(new User(
+                "submission.lecturer",
+                "Submission",
+                "Lecturer",
+                "submission.lecturer@example.com",
+                "password",
+                Role.LECTURER));
+        users.add(lecturerUser);
+        lecturer = lecturerRepository.save(new Lecturer("Deadlines", lecturerUser));
+        schedule = scheduleRepository.save(new Schedule(start, start.plus(2, ChronoUnit.HOURS), course, lecturer));
+        assignment = assignmentRepository.save(new Assignment(
+                "Concurrent Assignment",
+                "Everybody submits at the same time",
+                start.plus(1, ChronoUnit.DAYS),
+                schedule));
+
+        final var studentUsers = new ArrayList<User>();
+        for (int i = 0; i < STUDENTS; i++) {
+            studentUsers.add(new User(
+                    "submission.student." + i,
+                    "Submission",
+                    "Student " + i,
+                    "submission.student." + i + "@example.com",
+                    "password",
+                    Role.STUDENT));
+        }
+        users.addAll(userRepository.saveAll(studentUsers));
+        final var newStudents = new ArrayList<Student>();
+        for (int i = 0; i < STUDENTS; i++) {
+            newStudents.add(new Student("s" + i, users.get(i + 1)));
+        }
+        students.addAll(studentRepository.saveAll(newStudents));
+        students.forEach(schedule::addStudent);
+        schedule = scheduleRepository.save(schedule);
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        submissionRepository.deleteAllInBatch(submissionRepository.findByAssignment_Id(assignment.getId()));
+        assignmentRepository.deleteById(assignment.getId());
+        scheduleRepository.deleteById(schedule.getId());
+        studentRepository.deleteAllInBatch(students);
+        lecturerRepository.deleteById(lecturer.getId());
+        userRepository.deleteAllInBatch(users);
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void submit_EveryStudentAtOnce_StoresOneSubmissionPerStudent() throws Exception {
+        final var tasks = new ArrayList<Callable<Submission>>();
+        for (int i = 0; i < STUDENTS; i++) {
+            final var username = "submission.student." + i;
+            tasks.add(() -> submissionService.submit(
+                    assignment.getId(),
+                    username,
+                    new SubmissionInput("Answer of " + username, SubmissionStatus.SUBMITTED),
+                    Instant.now()));
+        }
+
+        for (Future<Submission> future : executor.invokeAll(tasks)) {
+            assertThat(future.get().getId()).isNotNull();
+        }
+
+        assertThat(submissionRepository.findByAssignment_Id(assignment.getId())).hasSize(STUDENTS);
+    }
+
+    @Test
+    void submit_SameStudentInParallel_StoresOneSubmission() throws Exception {
+        final var tasks = new ArrayList<Callable<Submission>>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            final var content = "Attempt " + i;
+            tasks.add(() -> submissionService.submit(
+                    assignment.getId(),
+                    "submission.student.0",
+                    new SubmissionInput(content, SubmissionStatus.SUBMITTED),
+                    Instant.now()));
+        }
+
+        int accepted = 0;
+        for (Future<Submission> future : executor.invokeAll(tasks)) {
+            try {
+                future.get();
+                accepted++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(CoursesException.class);
+            }
+        }
+
+        assertThat(accepted).isEqualTo(1);
+        assertThat(submissionRepository.findByAssignment_Id(assignment.getId())).hasSize(1);
+    }
+}
@@ -0,0 +1,185 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.config.SubmissionQueueProperties;
+import be.ucll.se.courses.backend.controller.dto.SubmissionInput;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import be.ucll.se.courses.backend.service.SubmissionQueue;
+import be.ucll.se.courses.backend.service.SubmissionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "submissions.queue.enabled=true",
+        "submissions.queue.directory=target/submission-log",
+        "submissions.queue.flush-interval=50ms"
+})
+public class SubmissionQueueTest {
+    private static final int STUDENTS = 20;
+
+    @TempDir
+    static Path logDirectory;
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LecturerRepository lecturerRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Student> students = new ArrayList<>();
+    private Course course;
+    private Lecturer lecturer;
+    private Schedule schedule;
+    private Assignment assignment;
+
+    @BeforeEach
+    void setUp() {
+        final var start = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        course = courseRepository.save(new Course("Queue Course", "Course for queued submissions", 1, 3));
+        final var lecturerUser = userRepository.save(new User(
+                "queue.lecturer", "Queue", "Lecturer", "queue.lecturer@example.com", "password", Role.LECTURER));
+        users.add(lecturerUser);
+        lecturer = lecturerRepository.save(new Lecturer("Queues", lecturerUser));
+        schedule = scheduleRepository.save(new Schedule(start, start.plus(2, ChronoUnit.HOURS), course, lecturer));
+        assignment = assignmentRepository.save(new Assignment(
+                "Queued Assignment", "Submitted through the queue", start.plus(1, ChronoUnit.DAYS), schedule));
+        for (int i = 0; i < STUDENTS; i++) {
+            final var user = userRepository.save(new User(
+                    "queue.student." + i,
+                    "Queue",
+                    "Student " + i,
+                    "queue.student." + i + "@example.com",
+                    "password",
+                    Role.STUDENT));
+            users.add(user);
+            students.add(studentRepository.save(new Student("q" + i, user)));
+        }
+        students.forEach(schedule::addStudent);
+        schedule = scheduleRepository.save(schedule);
+    }
+
+    @AfterEach
+    void tearDown() {
+        submissionRepository.deleteAllInBatch(submissionRepository.findByAssignment_Id(assignment.getId()));
+        assignmentRepository.deleteById(assignment.getId());
+        scheduleRepository.deleteById(schedule.getId());
+        studentRepository.deleteAllInBatch(students);
+        lecturerRepository.deleteById(lecturer.getId());
+        userRepository.deleteAllInBatch(users);
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void enqueue_AcknowledgesAndWritesBehind() throws Exception {
+        final var acknowledgedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        final var receipt = submissionService.enqueue(
+                assignment.getId(),
+                "queue.student.0",
+                new SubmissionInput("Queued answer", SubmissionStatus.SUBMITTED),
+                acknowledgedAt);
+
+        assertThat(receipt.studentId()).isEqualTo(students.get(0).getId());
+        assertThat(receipt.submittedAt()).isEqualTo(acknowledgedAt);
+
+        final var submissions = awaitSubmissions(1);
+        assertThat(submissions.get(0).getContent()).isEqualTo("Queued answer");
+        assertThat(submissions.get(0).getSubmittedAt()).isEqualTo(acknowledgedAt);
+    }
+
+    @Test
+    void start_ReplaysSubmissionsThatWereNeverWritten() throws Exception {
+        final var directory = Files.createTempDirectory(logDirectory, "replay");
+
+        // This queue never gets to flush, like a process that crashed
+        final var crashed = queue(directory, Duration.ofHours(1));
+        crashed.start();
+        for (final var student : students) {
+            crashed.append(new PendingSubmission(
+                    assignment.getId(), student.getId(), "Answer", SubmissionStatus.SUBMITTED, Instant.now()));
+        }
+        // A write that was torn by the crash must not stop the replay
+        try (var segments = Files.list(directory)) {
+            final var segment = segments.findFirst().orElseThrow();
+            Files.write(segment, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+        }
+        assertThat(submissionRepository.findByAssignment_Id(assignment.getId())).isEmpty();
+
+        final var restarted = queue(directory, Duration.ofMillis(50));
+        restarted.start();
+        try {
+            awaitSubmissions(STUDENTS);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void flush_ReplayingWrittenSubmissionsHasNoEffect() {
+        final var submission = new PendingSubmission(
+                assignment.getId(), students.get(0).getId(), "Answer", SubmissionStatus.SUBMITTED, Instant.now());
+        final var resubmission = new PendingSubmission(
+                assignment.getId(), students.get(0).getId(), "Changed", SubmissionStatus.SUBMITTED, Instant.now());
+
+        assertThat(submissionRepository.writeSubmissions(List.of(submission))).isEqualTo(1);
+        assertThat(submissionRepository.writeSubmissions(List.of(submission, resubmission))).isZero();
+
+        final var submissions = submissionRepository.findByAssignment_Id(assignment.getId());
+        assertThat(submissions).hasSize(1);
+        assertThat(submissions.get(0).getContent()).isEqualTo("Answer");
+    }
+
+    private SubmissionQueue queue(Path directory, Duration flushInterval) {
+        return new SubmissionQueue(submissionRepository, transactionTemplate,
+                new SubmissionQueueProperties(true, directory, 500, flushInterval, DataSize.ofMegabytes(1)));
+    }
+
+    private List<Submission> awaitSubmissions(int count) throws InterruptedException {
+        final var deadline = Instant.now().plusSeconds(10);
+        var submissions = submissionRepository.findByAssignment_Id(assignment.getId());
+        while (submissions.size() < count && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            submissions = submissionRepository.findByAssignment_Id(assignment.getId());
+        }
+        assertThat(submissions).hasSize(count);
+        return submissions;
+    }
+}
@@ -0,0 +1,126 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.config.UserDetailsCacheProperties;
+import be.ucll.se.courses.backend.controller.dto.UserInput;
+import be.ucll.se.courses.backend.model.Role;
+import be.ucll.se.courses.backend.model.User;
+import be.ucll.se.courses.backend.repository.UserRepository;
+import be.ucll.se.courses.backend.service.UserDetailsCache;
+import be.ucll.se.courses.backend.service.UserDetailsImpl;
+import be.ucll.se.courses.backend.service.UserDetailsServiceImpl;
+import be.ucll.se.courses.backend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "password-hashing.bcrypt-cost=4",
+        "password-hashing.min-cost=4"
+})
+public class UserDetailsCacheTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername("cache.known").ifPresent(userRepository::delete);
+        userRepository.findByUsername("cache.new").ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void loadUserByUsername_Repeated_QueriesOnce() {
+        userRepository.save(new User("cache.known", "Cache", "Known", "cache.known@example.com", "x", Role.STUDENT));
+
+        statistics.clear();
+        userDetailsService.loadUserByUsername("cache.known");
+        userDetailsService.loadUserByUsername("cache.known");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadUserByUsername_UnknownUsername_IsRememberedUntilSignup() {
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> userDetailsService.loadUserByUsername("cache.new"))
+                    .isInstanceOf(UsernameNotFoundException.class);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        userService.signup(new UserInput("cache.new", "secret", "Cache", "New", "cache.new@example.com",
+                Role.STUDENT));
+
+        final var userDetails = (UserDetailsImpl) userDetailsService.loadUserByUsername("cache.new");
+        assertThat(userDetails.user().getEmail()).isEqualTo("cache.new@example.com");
+    }
+
+    @Test
+    void loadUserByUsername_AfterRoleChange_SeesNewRole() {
+        final var user = userRepository.save(
+                new User("cache.known", "Cache", "Known", "cache.known@example.com", "x", Role.STUDENT));
+        assertThat(userDetailsService.loadUserByUsername("cache.known").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Role.STUDENT.toGrantedAuthority().getAuthority());
+
+        user.setRole(Role.LECTURER);
+        userRepository.save(user);
+
+        assertThat(userDetailsService.loadUserByUsername("cache.known").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Role.LECTURER.toGrantedAuthority().getAuthority());
+    }
+
+    @Test
+    void get_BurstOfUnknownUsernames_KeepsKnownUser() {
+        final var cache = new UserDetailsCache(
+                new UserDetailsCacheProperties(100, Duration.ofMinutes(5), Duration.ofSeconds(30)));
+        final var knownLoads = new AtomicInteger();
+        final var known = Optional.of(new UserDetailsImpl(
+                new User("cache.known", "Cache", "Known", "cache.known@example.com", "x", Role.STUDENT)));
+
+        // The known user keeps logging in while the random usernames are tried
+        for (int i = 0; i < 1000; i++) {
+            if (i % 20 == 0) {
+                assertThat(cache.get("cache.known", username -> {
+                    knownLoads.incrementAndGet();
+                    return known;
+                })).isEqualTo(known);
+            }
+            cache.get("random." + i, username -> Optional.empty());
+        }
+
+        assertThat(knownLoads).hasValue(1);
+    }
+}
@@ -0,0 +1,238 @@
+package be.ucll.se.courses.backend;
+
+import be.ucll.se.courses.backend.controller.dto.AuthenticationRequest;
+import be.ucll.se.courses.backend.controller.dto.EnrollmentInput;
+import be.ucll.se.courses.backend.model.*;
+import be.ucll.se.courses.backend.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and p99 latency of {@code GET /schedules} and
+ * {@code POST /schedules/enroll} with requests served on Tomcat's worker pool
+ * and on virtual threads, against the same connection pool.
+ * <p>
+ * Slow, so it only runs in the {@code load-test} profile:
+ * {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "server.tomcat.threads.max=50"
+})
+public class VirtualThreadLoadTest {
+    private static final int CLIENTS = 400;
+    private static final int SCHEDULES = 50;
+    private static final int STUDENTS = 500;
+    private static final Duration WARM_UP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    private static final Map<String, String> results = Collections.synchronizedMap(new TreeMap<>());
+
+    @AfterAll
+    static void report() {
+        System.out.println();
+        System.out.printf("%-16s %-24s %10s %10s %10s %10s%n", "mode", "endpoint", "requests", "req/s", "p99 ms",
+                "fail/503");
+        results.values().forEach(System.out::println);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadRun {
+        PlatformThreads() {
+            super("platform");
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadRun {
+        VirtualThreads() {
+            super("virtual");
+        }
+    }
+
+    abstract class LoadRun {
+        private final String mode;
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private CourseRepository courseRepository;
+
+        @Autowired
+        private LecturerRepository lecturerRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private StudentRepository studentRepository;
+
+        @Autowired
+        private ScheduleRepository scheduleRepository;
+
+        private final List<Long> scheduleIds = new ArrayList<>();
+        private final List<Long> studentIds = new ArrayList<>();
+        private HttpClient client;
+        private String token;
+
+        LoadRun(String mode) {
+            this.mode = mode;
+        }
+
+        @BeforeEach
+        void setUp() throws Exception {
+            final var start = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+            final var course = courseRepository.save(new Course("Load Course", "Course under load", 1, 3));
+            final var lecturer = lecturerRepository.save(new Lecturer("Load", userRepository.save(new User(
+                    "load.lecturer", "Load", "Lecturer", "load.lecturer@example.com", "password", Role.LECTURER))));
+            for (int i = 0; i < SCHEDULES; i++) {
+                scheduleIds.add(scheduleRepository.save(new Schedule(
+                        start.plus(i, ChronoUnit.DAYS), start.plus(i, ChronoUnit.DAYS).plus(2, ChronoUnit.HOURS),
+                        course, lecturer)).getId());
+            }
+            for (int i = 0; i < STUDENTS; i++) {
+                studentIds.add(studentRepository.save(new Student("l" + i, userRepository.save(new User(
+                        "load.student." + i, "Load", "Student " + i, "load.student." + i + "@example.com",
+                        "password", Role.STUDENT)))).getId());
+            }
+            userRepository.save(new User("load.admin", "Load", "Admin", "load.admin@example.com",
+                    passwordEncoder.encode("secret"), Role.ADMIN));
+
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            final var login = client.send(HttpRequest.newBuilder(uri("/users/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                                    new AuthenticationRequest("load.admin", "secret"))))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertThat(login.statusCode()).isEqualTo(200);
+            token = objectMapper.readTree(login.body()).get("token").asText();
+        }
+
+        @Test
+        void schedulesAndEnrollment_UnderConcurrentLoad() throws Exception {
+            final var getSchedules = new Endpoint("GET /schedules");
+            final var enroll = new Endpoint("POST /schedules/enroll");
+
+            final var warmUpEnd = Instant.now().plus(WARM_UP);
+            final var end = warmUpEnd.plus(MEASUREMENT);
+            try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < CLIENTS; i++) {
+                    final boolean enrolling = i % 2 == 1;
+                    clients.submit(() -> {
+                        while (Instant.now().isBefore(end)) {
+                            final var endpoint = enrolling ? enroll : getSchedules;
+                            final var request = enrolling ? enrollRequest() : schedulesRequest();
+                            final long started = System.nanoTime();
+                            final int status = client.send(request, HttpResponse.BodyHandlers.discarding())
+                                    .statusCode();
+                            if (Instant.now().isAfter(warmUpEnd)) {
+                                endpoint.record(status, System.nanoTime() - started);
+                            }
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            for (final var endpoint : List.of(getSchedules, enroll)) {
+                results.put(mode + " " + endpoint.name, endpoint.summary(mode));
+                assertThat(endpoint.latencies).isNotEmpty();
+                // Shedding load with 503 is allowed; anything else is a failure
+                assertThat(endpoint.failures).hasValue(0);
+            }
+        }
+
+        private HttpRequest schedulesRequest() {
+            return HttpRequest.newBuilder(uri("/schedules"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+        }
+
+        private HttpRequest enrollRequest() throws Exception {
+            final var random = ThreadLocalRandom.current();
+            final var input = new EnrollmentInput(
+                    new EnrollmentInput.Schedule(scheduleIds.get(random.nextInt(scheduleIds.size()))),
+                    List.of(new EnrollmentInput.Student(studentIds.get(random.nextInt(studentIds.size())))));
+            return HttpRequest.newBuilder(uri("/schedules/enroll"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(input)))
+                    .build();
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+
+    private static class Endpoint {
+        private final String name;
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        void record(int status, long nanos) {
+            if (status == 503) {
+                rejected.incrementAndGet();
+            } else if (status != 200) {
+                failures.incrementAndGet();
+            }
+            latencies.add(nanos);
+        }
+
+        String summary(String mode) {
+            final var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            final long p99 = sorted.length == 0 ? 0 : sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+            return String.format("%-16s %-24s %10d %10.1f %10.1f %10s", mode, name, sorted.length,
+                    sorted.length / (double) MEASUREMENT.toSeconds(), p99 / 1_000_000.0,
+                    failures.get() + "/" + rejected.get());
+        }
+    }
+}
@@ -48,7 +48,8 @@ export function setupApiStubs() {
   cy.intercept(
     {
       method: 'GET',
-      url: '**/schedules',
+      // Pages are requested with ?limit and ?cursor
+      pathname: '/schedules',
       hostname: 'localhost',
       port: 8080 // This ensures only backend API calls are matched
     },
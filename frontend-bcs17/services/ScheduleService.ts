@@ -5,17 +5,40 @@ const getToken = (): string => {
   return loggedInUserString ? JSON.parse(loggedInUserString).token : '';
 };
 
-const getSchedule = () => {
-  // Log for debugging
-  console.log("[ScheduleService] Getting schedules from:", process.env.NEXT_PUBLIC_API_URL + '/schedules');
-  console.log("[ScheduleService] Using token:", getToken() ? "token present" : "token missing");
-  
-  return fetch(process.env.NEXT_PUBLIC_API_URL + '/schedules', {
-    method: 'GET',
-    headers: {
-      'Content-Type': 'application/json',
-      Authorization: `Bearer ${getToken()}`,
-    },
+// The largest page the back-end serves; see ScheduleService.MAX_PAGE_SIZE
+const SCHEDULE_PAGE_SIZE = 200;
+const NEXT_CURSOR_HEADER = 'X-Next-Cursor';
+
+/**
+ * GET /schedules is paginated. Follows the X-Next-Cursor header until the
+ * last page and resolves to one response holding every schedule, so callers
+ * keep receiving the full list. A failing page is returned as is.
+ */
+const getSchedule = async (): Promise<Response> => {
+  const schedules: Schedule[] = [];
+  let cursor: string | null = null;
+  do {
+    const params = new URLSearchParams({ limit: String(SCHEDULE_PAGE_SIZE) });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    const response = await fetch(process.env.NEXT_PUBLIC_API_URL + '/schedules?' + params, {
+      method: 'GET',
+      headers: {
+        'Content-Type': 'application/json',
+        Authorization: `Bearer ${getToken()}`,
+      },
+    });
+    if (!response.ok) {
+      return response;
+    }
+    schedules.push(...(await response.json()));
+    cursor = response.headers.get(NEXT_CURSOR_HEADER);
+  } while (cursor);
+
+  return new Response(JSON.stringify(schedules), {
+    status: 200,
+    headers: { 'Content-Type': 'application/json' },
   });
 };
 